@@ -0,0 +1,73 @@
+package org.htx.vigil.benchmark;
+
+import org.htx.vigil.autoconfigure.VigilProperties;
+import org.htx.vigil.jvm.controller.JvmMetricsCollector;
+import org.htx.vigil.jvm.dto.JvmMetrics;
+import org.htx.vigil.overhead.OverheadMeter;
+import org.htx.vigil.web.RouteLatencyRecorder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JvmMetricsCollector.metrics 基准测试
+ *
+ * 线程统计和死锁检测的开销随线程数增长，因此额外启动指定数量的空闲线程。
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JvmMetricsCollectorBenchmark {
+
+    /** 额外启动的空闲线程数量 */
+    @Param({"0", "200", "2000"})
+    public int threads;
+
+    private final JvmMetricsCollector collector = new JvmMetricsCollector(new OverheadMeter(),
+            new RouteLatencyRecorder(new VigilProperties()));
+
+    private final CountDownLatch stop = new CountDownLatch(1);
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < threads; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    stop.await();
+                } catch (InterruptedException ignored) {
+                    // 线程结束
+                }
+            }, "idle-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        stop.countDown();
+    }
+
+    @Benchmark
+    public JvmMetrics metrics() {
+        return collector.metrics().getBody();
+    }
+}
@@ -0,0 +1,69 @@
+package org.htx.vigil.benchmark;
+
+import ch.qos.logback.classic.spi.ThrowableProxy;
+import org.htx.vigil.logging.LogEventPublisher;
+import org.htx.vigil.logging.dto.UnifiedLogEvent;
+import org.htx.vigil.overhead.OverheadMeter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.Disposable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LogEventPublisher 基准测试
+ *
+ * 在一个订阅者的情况下测量 JSON 序列化和发布的开销，分别使用普通事件和带异常堆栈的事件。
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogEventPublisherBenchmark {
+
+    /** 事件是否带异常堆栈 */
+    @Param({"false", "true"})
+    public boolean withThrowable;
+
+    private LogEventPublisher publisher;
+
+    private Disposable subscription;
+
+    private UnifiedLogEvent event;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        publisher = new LogEventPublisher(new OverheadMeter());
+        subscription = publisher.getStream().subscribe(blackhole::consume);
+        event = new UnifiedLogEvent();
+        event.reset("INFO", LogEvents.LOGGER.getName(), "order 42 submitted by user u-1024",
+                System.currentTimeMillis(), "http-nio-8080-exec-1",
+                withThrowable ? new ThrowableProxy(LogEvents.nestedException(20)) : null, null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        subscription.dispose();
+    }
+
+    @Benchmark
+    public void publish() {
+        publisher.publish(event);
+    }
+}
@@ -0,0 +1,63 @@
+package org.htx.vigil.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+
+import java.util.Collections;
+
+/**
+ * 基准测试使用的日志事件工厂
+ *
+ * 使用独立的 LoggerContext，不依赖应用的 Logback 配置。
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+final class LogEvents {
+
+    /** 基准测试专用的 Logger */
+    static final Logger LOGGER = new LoggerContext().getLogger("org.htx.vigil.benchmark.OrderService");
+
+    private LogEvents() {
+    }
+
+    /**
+     * 创建一条带参数的日志事件
+     *
+     * @param throwable 附带的异常，null 表示不带异常
+     * @param sequence 消息参数
+     * @return 新的日志事件
+     */
+    static LoggingEvent create(Throwable throwable, long sequence) {
+        return new LoggingEvent(Logger.class.getName(), LOGGER, Level.INFO,
+                "order {} submitted by user {}", throwable, new Object[]{sequence, "u-1024"});
+    }
+
+    /**
+     * 创建一条带追踪 ID 的日志事件，每 16 条事件属于同一个追踪
+     *
+     * @param sequence 消息参数
+     * @return 新的日志事件，MDC 中带有 traceId
+     */
+    static LoggingEvent createTraced(long sequence) {
+        LoggingEvent event = create(null, sequence);
+        event.setMDCPropertyMap(Collections.singletonMap("traceId", "t-" + (sequence >>> 4)));
+        return event;
+    }
+
+    /**
+     * 创建一个带有真实调用栈的异常，栈深度约为 {@code depth} 加上调用方深度
+     *
+     * @param depth 额外的递归深度
+     * @return 异常
+     */
+    static Throwable nestedException(int depth) {
+        if (depth == 0) {
+            return new IllegalStateException("order 42 not found",
+                    new java.io.IOException("connection reset"));
+        }
+        return nestedException(depth - 1);
+    }
+}
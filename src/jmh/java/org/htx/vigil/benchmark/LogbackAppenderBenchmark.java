@@ -0,0 +1,116 @@
+package org.htx.vigil.benchmark;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import org.htx.vigil.autoconfigure.VigilProperties;
+import org.htx.vigil.logging.LogEventPublisher;
+import org.htx.vigil.logging.appender.LogbackAppender;
+import org.htx.vigil.logging.index.LogEventIndex;
+import org.htx.vigil.logging.index.TraceIndex;
+import org.htx.vigil.overhead.OverheadMeter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.Disposable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LogbackAppender 基准测试
+ *
+ * 测量业务线程每打一条日志 Vigil 额外付出的开销。无订阅者时只有事件转换，
+ * 有订阅者时还包括 JSON 序列化和向每个订阅者投递；开启索引时包括分词和写入倒排表，
+ * 开启链路追踪时还包括 MDC 采集和写入追踪索引。事件始终带有 traceId，与真实应用一致。
+ *
+ * 事件在 {@link #setup} 中预先构造成环并循环投递，消息也已提前格式化，使测量结果不包含
+ * 构造 LoggingEvent 和格式化消息的开销——这部分由 Logback 承担，与是否接入 Vigil 无关。
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LogbackAppenderBenchmark {
+
+    /** SSE 订阅者数量 */
+    @Param({"0", "1", "8"})
+    public int subscribers;
+
+    /** 开启的索引 */
+    @Param({"NONE", "INDEX", "INDEX_TRACE"})
+    public Indexing indexing;
+
+    /** 预先构造的事件数量，必须为 2 的幂 */
+    private static final int RING_SIZE = 1024;
+
+    private final ILoggingEvent[] events = new ILoggingEvent[RING_SIZE];
+
+    private LogbackAppender appender;
+
+    private final List<Disposable> subscriptions = new ArrayList<>();
+
+    private int sequence;
+
+    /**
+     * 索引开关组合，追踪索引依赖全文索引
+     */
+    public enum Indexing {
+        /** 不写入索引 */
+        NONE,
+        /** 只写入日志全文索引 */
+        INDEX,
+        /** 写入全文索引，并采集 MDC 写入追踪索引 */
+        INDEX_TRACE
+    }
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        for (int i = 0; i < RING_SIZE; i++) {
+            events[i] = LogEvents.createTraced(i);
+            events[i].getFormattedMessage();
+        }
+        OverheadMeter meter = new OverheadMeter();
+        LogEventPublisher publisher = new LogEventPublisher(meter);
+        for (int i = 0; i < subscribers; i++) {
+            subscriptions.add(publisher.getStream().subscribe(blackhole::consume));
+        }
+        appender = new LogbackAppender();
+        appender.setContext(LogEvents.LOGGER.getLoggerContext());
+        appender.setPublisher(publisher);
+        appender.setOverheadMeter(meter);
+        if (indexing != Indexing.NONE) {
+            VigilProperties properties = new VigilProperties();
+            LogEventIndex logIndex = new LogEventIndex(properties, meter);
+            appender.setIndex(logIndex);
+            if (indexing == Indexing.INDEX_TRACE) appender.setTraceIndex(new TraceIndex(logIndex, properties));
+        }
+        appender.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        subscriptions.forEach(Disposable::dispose);
+        subscriptions.clear();
+        appender.stop();
+    }
+
+    @Benchmark
+    public void append() {
+        appender.doAppend(events[sequence++ & (RING_SIZE - 1)]);
+    }
+}
@@ -0,0 +1,46 @@
+package org.htx.vigil.benchmark;
+
+import org.htx.vigil.autoconfigure.VigilProperties;
+import org.htx.vigil.web.RouteLatencyRecorder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RouteLatencyRecorder.record 基准测试
+ *
+ * 多个线程同时向少量热点接口写入，测量每个请求额外付出的记录开销。
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class RouteLatencyRecorderBenchmark {
+
+    private static final String[] PATTERNS = {"/orders/{id}", "/orders", "/users/{id}", "/health"};
+
+    private final RouteLatencyRecorder recorder = new RouteLatencyRecorder(new VigilProperties());
+
+    @Benchmark
+    public void record() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        recorder.record("GET", PATTERNS[random.nextInt(PATTERNS.length)],
+                random.nextLong(50_000, 50_000_000), false);
+    }
+}
@@ -0,0 +1,65 @@
+package org.htx.vigil.benchmark;
+
+import ch.qos.logback.classic.spi.ThrowableProxy;
+import org.htx.vigil.logging.dto.UnifiedLogEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UnifiedLogEvent.reset 基准测试
+ *
+ * 带异常时 reset 需要拼接堆栈字符串，并可按包名过滤堆栈帧，是日志转换中最重的一步。
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnifiedLogEventBenchmark {
+
+    /** 堆栈过滤的包名，空字符串表示不过滤 */
+    @Param({"", "org.htx"})
+    public String packageName;
+
+    private UnifiedLogEvent event;
+
+    private ThrowableProxy throwable;
+
+    private long timestamp;
+
+    @Setup
+    public void setup() {
+        event = new UnifiedLogEvent();
+        throwable = new ThrowableProxy(LogEvents.nestedException(20));
+        timestamp = System.currentTimeMillis();
+    }
+
+    @Benchmark
+    public UnifiedLogEvent resetWithoutThrowable() {
+        event.reset("INFO", LogEvents.LOGGER.getName(), "order 42 submitted", timestamp,
+                "http-nio-8080-exec-1", null, packageName);
+        return event;
+    }
+
+    @Benchmark
+    public UnifiedLogEvent resetWithThrowable() {
+        event.reset("ERROR", LogEvents.LOGGER.getName(), "order 42 failed", timestamp,
+                "http-nio-8080-exec-1", throwable, packageName);
+        return event;
+    }
+}
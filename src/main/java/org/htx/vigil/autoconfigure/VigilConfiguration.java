@@ -3,6 +3,10 @@ package org.htx.vigil.autoconfigure;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.Appender;
 import org.htx.vigil.logging.LogEventPublisher;
+import org.htx.vigil.logging.index.LogEventIndex;
+import org.htx.vigil.logging.index.TraceIndex;
+import org.htx.vigil.overhead.OverheadMeter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 
@@ -18,7 +22,7 @@ import java.util.Iterator;
  * 
  * 负责初始化 Vigil 监控组件的自动配置，包括：
  * - 扫描并注册 Vigil 相关组件
- * - 配置 Logback Appender 以支持实时日志流
+ * - 配置 Logback Appender 以支持实时日志流和历史日志检索
  * 
  * @author Hao Tong Xue
  * @since 1.0.0
@@ -26,25 +30,42 @@ import java.util.Iterator;
  */
 @Configuration
 @ComponentScan(basePackages = "org.htx.vigil")
+@EnableConfigurationProperties(VigilProperties.class)
 public class VigilConfiguration {
     
     /** 日志事件发布器，用于实时日志流传输 */
     private final LogEventPublisher publisher;
 
+    /** 日志事件全文索引，用于历史日志检索 */
+    private final LogEventIndex index;
+
+    /** 链路追踪索引，用于按 traceId 查询日志 */
+    private final TraceIndex traceIndex;
+
+    /** 自身开销计量器，用于日志处理计量和降级采样 */
+    private final OverheadMeter meter;
+
     /**
      * 构造函数，初始化 Vigil 配置
      * 
      * @param publisher 日志事件发布器，不能为 null
+     * @param index 日志事件全文索引，不能为 null
+     * @param traceIndex 链路追踪索引，不能为 null
+     * @param meter 自身开销计量器，不能为 null
      */
-    public VigilConfiguration(LogEventPublisher publisher) {
+    public VigilConfiguration(LogEventPublisher publisher, LogEventIndex index, TraceIndex traceIndex,
+                              OverheadMeter meter) {
         this.publisher = publisher;
+        this.index = index;
+        this.traceIndex = traceIndex;
+        this.meter = meter;
         configureLogbackAppender();
     }
 
     /**
      * 配置 Logback Appender
      * 
-     * 查找已存在的 LogbackAppender 实例，并设置日志事件发布器。
+     * 查找已存在的 LogbackAppender 实例，并设置日志事件发布器、全文索引、链路追踪索引和开销计量器。
      * 如果未找到现有实例，则不进行任何操作（避免重复添加 Appender）。
      */
     private void configureLogbackAppender() {
@@ -54,8 +75,11 @@ public class VigilConfiguration {
         for (Iterator<Appender<ILoggingEvent>> it = context.getLogger("ROOT").iteratorForAppenders(); it.hasNext(); ) {
             Appender<ILoggingEvent> appender = it.next();
             if (appender instanceof LogbackAppender) {
-                // 找到现有实例，设置发布器并退出
+                // 找到现有实例，设置发布器和索引并退出
                 ((LogbackAppender) appender).setPublisher(publisher);
+                ((LogbackAppender) appender).setIndex(index);
+                ((LogbackAppender) appender).setTraceIndex(traceIndex);
+                ((LogbackAppender) appender).setOverheadMeter(meter);
                 return;
             }
         }
@@ -0,0 +1,238 @@
+package org.htx.vigil.autoconfigure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Vigil 配置属性
+ *
+ * 统一承载 {@code vigil.*} 前缀下的配置项，各功能模块按子节点划分。
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+@ConfigurationProperties(prefix = "vigil")
+public class VigilProperties {
+
+    /** 日志相关配置 */
+    private final Logs logs = new Logs();
+
+    /** JVM 诊断相关配置 */
+    private final Jvm jvm = new Jvm();
+
+    /** 自身开销控制配置 */
+    private final Overhead overhead = new Overhead();
+
+    /** 请求延迟统计配置 */
+    private final Http http = new Http();
+
+    // ================= 日志配置 =================
+    public static class Logs {
+        /** 日志全文索引配置 */
+        private final Index index = new Index();
+        /** 链路追踪（MDC）配置 */
+        private final Trace trace = new Trace();
+
+        // getter
+        public Index getIndex() { return index; }
+        public Trace getTrace() { return trace; }
+    }
+
+    // ================= 日志全文索引配置 =================
+    public static class Index {
+        /** 是否启用日志全文索引 */
+        private boolean enabled = true;
+        /**
+         * 最多保留的日志事件数量，超出后按段淘汰最旧的事件
+         *
+         * 单条事件的实际内存约为 0.5~1.5 KB（事件对象、消息字符串、词典和倒排列表），
+         * 带异常堆栈的事件会更大，因此同时受 {@link #maxBytes} 限制。
+         */
+        private int maxEvents = 100_000;
+        /** 索引估算内存上限（字节），超出后按段淘汰最旧的事件，默认 64 MB */
+        private long maxBytes = 64L * 1024 * 1024;
+        /** 每个索引段容纳的日志事件数量 */
+        private int segmentSize = 8192;
+
+        // getter / setter
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public int getMaxEvents() { return maxEvents; }
+        public void setMaxEvents(int maxEvents) { this.maxEvents = maxEvents; }
+        public long getMaxBytes() { return maxBytes; }
+        public void setMaxBytes(long maxBytes) { this.maxBytes = maxBytes; }
+        public int getSegmentSize() { return segmentSize; }
+        public void setSegmentSize(int segmentSize) { this.segmentSize = segmentSize; }
+    }
+
+    // ================= 链路追踪配置 =================
+    public static class Trace {
+        /** 需要从 MDC 中采集并建立索引的键，如 traceId、requestId */
+        private List<String> mdcKeys = new ArrayList<>(Arrays.asList("traceId", "requestId"));
+        /** 最多保留的追踪 ID 数量，超出后淘汰最久未活跃的追踪 */
+        private int maxTraces = 10_000;
+        /** 单个追踪 ID 最多保留的事件数量，超出后丢弃最旧的事件 */
+        private int maxEventsPerTrace = 1_000;
+
+        // getter / setter
+        public List<String> getMdcKeys() { return mdcKeys; }
+        public void setMdcKeys(List<String> mdcKeys) { this.mdcKeys = mdcKeys; }
+        public int getMaxTraces() { return maxTraces; }
+        public void setMaxTraces(int maxTraces) { this.maxTraces = maxTraces; }
+        public int getMaxEventsPerTrace() { return maxEventsPerTrace; }
+        public void setMaxEventsPerTrace(int maxEventsPerTrace) { this.maxEventsPerTrace = maxEventsPerTrace; }
+    }
+
+    // ================= JVM 诊断配置 =================
+    public static class Jvm {
+        /** 类直方图配置 */
+        private final Histogram histogram = new Histogram();
+        /** 内存压力检测配置 */
+        private final Pressure pressure = new Pressure();
+        /** 线程转储配置 */
+        private final Threads threads = new Threads();
+
+        // getter
+        public Histogram getHistogram() { return histogram; }
+        public Pressure getPressure() { return pressure; }
+        public Threads getThreads() { return threads; }
+    }
+
+    // ================= 类直方图配置 =================
+    public static class Histogram {
+        /** 定时采集间隔（分钟），0 表示不定时采集 */
+        private int intervalMinutes = 0;
+        /** 两次采集之间的最小间隔（秒），防止频繁触发 */
+        private int minIntervalSeconds = 60;
+        /** 最多保留的快照数量 */
+        private int maxSnapshots = 5;
+        /** 是否只统计存活对象（会触发一次 Full GC），false 时统计全部对象且不触发 GC */
+        private boolean live = true;
+        /**
+         * 已用堆内存超过该值（MB）时跳过自动采集，0 表示不限制
+         *
+         * 同时作用于定时采集和内存压力触发的采集：堆越大，存活对象直方图引起的 Full GC 停顿越长，
+         * 因此大堆在压力下默认不会自动采集，事件中的 histogramCapture 为 HEAP_LIMIT；手动采集不受限制。
+         */
+        private long maxHeapUsedMb = 4096;
+
+        // getter / setter
+        public int getIntervalMinutes() { return intervalMinutes; }
+        public void setIntervalMinutes(int intervalMinutes) { this.intervalMinutes = intervalMinutes; }
+        public int getMinIntervalSeconds() { return minIntervalSeconds; }
+        public void setMinIntervalSeconds(int minIntervalSeconds) { this.minIntervalSeconds = minIntervalSeconds; }
+        public int getMaxSnapshots() { return maxSnapshots; }
+        public void setMaxSnapshots(int maxSnapshots) { this.maxSnapshots = maxSnapshots; }
+        public boolean isLive() { return live; }
+        public void setLive(boolean live) { this.live = live; }
+        public long getMaxHeapUsedMb() { return maxHeapUsedMb; }
+        public void setMaxHeapUsedMb(long maxHeapUsedMb) { this.maxHeapUsedMb = maxHeapUsedMb; }
+    }
+
+    // ================= 内存压力检测配置 =================
+    public static class Pressure {
+        /** 是否启用内存压力检测 */
+        private boolean enabled = true;
+        /** 堆内存池使用量阈值（占最大值的百分比，0~100，0 表示不设置） */
+        private int usagePercent = 90;
+        /** 堆内存池 GC 后使用量阈值（占最大值的百分比，0~100，0 表示不设置） */
+        private int collectionUsagePercent = 80;
+        /** 按内存池名称单独设置的阈值百分比，同时作用于两种阈值，如 G1 Old Gen: 75 */
+        private Map<String, Integer> pools = new HashMap<>();
+        /** 同一内存池同类阈值两次推送之间的最小间隔（秒），持续高压时 GC 后阈值每次 GC 都会触发 */
+        private int quietSeconds = 10;
+        /** 检测到内存压力时是否自动采集一次类直方图，受 {@code vigil.jvm.histogram.max-heap-used-mb} 限制 */
+        private boolean captureHistogram = false;
+        /** 检测到内存压力时是否自动采集一次线程转储 */
+        private boolean captureThreadDump = false;
+
+        // getter / setter
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public int getUsagePercent() { return usagePercent; }
+        public void setUsagePercent(int usagePercent) { this.usagePercent = usagePercent; }
+        public int getCollectionUsagePercent() { return collectionUsagePercent; }
+        public void setCollectionUsagePercent(int collectionUsagePercent) { this.collectionUsagePercent = collectionUsagePercent; }
+        public Map<String, Integer> getPools() { return pools; }
+        public void setPools(Map<String, Integer> pools) { this.pools = pools; }
+        public int getQuietSeconds() { return quietSeconds; }
+        public void setQuietSeconds(int quietSeconds) { this.quietSeconds = quietSeconds; }
+        public boolean isCaptureHistogram() { return captureHistogram; }
+        public void setCaptureHistogram(boolean captureHistogram) { this.captureHistogram = captureHistogram; }
+        public boolean isCaptureThreadDump() { return captureThreadDump; }
+        public void setCaptureThreadDump(boolean captureThreadDump) { this.captureThreadDump = captureThreadDump; }
+    }
+
+    // ================= 线程转储配置 =================
+    public static class Threads {
+        /** 定时采样间隔（秒），0 表示不定时采样 */
+        private int samplingIntervalSeconds = 0;
+        /** 采集的最大栈深度 */
+        private int maxDepth = 64;
+        /** 每个分组最多列出的线程名称数量 */
+        private int maxNamesPerGroup = 10;
+
+        // getter / setter
+        public int getSamplingIntervalSeconds() { return samplingIntervalSeconds; }
+        public void setSamplingIntervalSeconds(int samplingIntervalSeconds) { this.samplingIntervalSeconds = samplingIntervalSeconds; }
+        public int getMaxDepth() { return maxDepth; }
+        public void setMaxDepth(int maxDepth) { this.maxDepth = maxDepth; }
+        public int getMaxNamesPerGroup() { return maxNamesPerGroup; }
+        public void setMaxNamesPerGroup(int maxNamesPerGroup) { this.maxNamesPerGroup = maxNamesPerGroup; }
+    }
+
+    // ================= 自身开销控制配置 =================
+    public static class Overhead {
+        /** 是否在超出预算时自动降级 */
+        private boolean enabled = true;
+        /** CPU 预算，占全部可用 CPU 的百分比 */
+        private double cpuBudgetPercent = 1.0;
+        /** 评估间隔（秒） */
+        private int evaluationSeconds = 10;
+        /** 最高降级等级，0 ~ 3 */
+        private int maxLevel = 3;
+
+        // getter / setter
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public double getCpuBudgetPercent() { return cpuBudgetPercent; }
+        public void setCpuBudgetPercent(double cpuBudgetPercent) { this.cpuBudgetPercent = cpuBudgetPercent; }
+        public int getEvaluationSeconds() { return evaluationSeconds; }
+        public void setEvaluationSeconds(int evaluationSeconds) { this.evaluationSeconds = evaluationSeconds; }
+        public int getMaxLevel() { return maxLevel; }
+        public void setMaxLevel(int maxLevel) { this.maxLevel = maxLevel; }
+    }
+
+    // ================= 请求延迟统计配置 =================
+    public static class Http {
+        /** 是否统计各接口的请求延迟 */
+        private boolean enabled = true;
+        /** 单个统计窗口的时长（秒） */
+        private int windowSeconds = 10;
+        /** 统计窗口数量，统计范围为 windowSeconds × windows */
+        private int windows = 6;
+        /** 最多统计的接口数量，超出后归入 OTHER */
+        private int maxRoutes = 200;
+
+        // getter / setter
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public int getWindowSeconds() { return windowSeconds; }
+        public void setWindowSeconds(int windowSeconds) { this.windowSeconds = windowSeconds; }
+        public int getWindows() { return windows; }
+        public void setWindows(int windows) { this.windows = windows; }
+        public int getMaxRoutes() { return maxRoutes; }
+        public void setMaxRoutes(int maxRoutes) { this.maxRoutes = maxRoutes; }
+    }
+
+    // ================= 主类 getter =================
+    public Logs getLogs() { return logs; }
+    public Jvm getJvm() { return jvm; }
+    public Overhead getOverhead() { return overhead; }
+    public Http getHttp() { return http; }
+}
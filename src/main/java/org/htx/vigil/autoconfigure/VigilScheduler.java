@@ -0,0 +1,99 @@
+package org.htx.vigil.autoconfigure;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Vigil 后台调度器
+ *
+ * 为定时采集类任务提供单个守护线程，不依赖宿主应用是否开启 {@code @EnableScheduling}，
+ * 也不占用宿主应用的调度线程池。应用关闭时随容器一起停止。
+ * 自身开销超出预算时，可通过 {@link #setStretch(int)} 成倍拉长定时采集任务的实际执行间隔。
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+@Component
+public class VigilScheduler implements DisposableBean {
+
+    /** 单线程调度器，任务按提交顺序串行执行 */
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "vigil-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** 执行间隔倍数，定时采集任务每 stretch 个周期才真正执行一次 */
+    private volatile int stretch = 1;
+
+    /**
+     * 按固定间隔周期执行采集任务
+     *
+     * 任务抛出的异常会被吞掉，避免一次失败导致后续调度终止。
+     * 实际执行间隔会随 {@link #setStretch(int)} 设置的倍数拉长。
+     *
+     * @param task 要执行的任务
+     * @param period 执行间隔
+     * @param unit 时间单位
+     * @return 调度句柄，可用于取消任务
+     */
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period, TimeUnit unit) {
+        return scheduleAtFixedRate(task, period, unit, true);
+    }
+
+    /**
+     * 按固定间隔周期执行任务
+     *
+     * @param task 要执行的任务
+     * @param period 执行间隔
+     * @param unit 时间单位
+     * @param stretchable 是否受执行间隔倍数影响，开销评估等控制类任务应为 false
+     * @return 调度句柄，可用于取消任务
+     */
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period, TimeUnit unit, boolean stretchable) {
+        AtomicLong ticks = new AtomicLong();
+        return executor.scheduleAtFixedRate(() -> {
+            if (stretchable && ticks.incrementAndGet() % stretch != 0) return;
+            try {
+                task.run();
+            } catch (RuntimeException ignored) {
+                // 忽略采集异常，避免影响后续调度
+            }
+        }, period, period, unit);
+    }
+
+    /**
+     * 设置定时采集任务的执行间隔倍数
+     *
+     * @param stretch 倍数，1 表示按原间隔执行
+     */
+    public void setStretch(int stretch) {
+        this.stretch = Math.max(1, stretch);
+    }
+
+    /**
+     * 立即异步执行一次任务
+     *
+     * @param task 要执行的任务
+     */
+    public void execute(Runnable task) {
+        executor.execute(() -> {
+            try {
+                task.run();
+            } catch (RuntimeException ignored) {
+                // 忽略采集异常，避免影响后续调度
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,75 @@
+package org.htx.vigil.jvm.controller;
+
+import org.htx.vigil.jvm.diagnostic.ClassHistogramRecorder;
+import org.htx.vigil.jvm.dto.ClassHistogramInfo;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 类直方图控制器
+ *
+ * 提供类直方图的采集与对比接口，用于在老年代持续增长时定位增长最快的类，无需手动执行 jmap。
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+@RestController
+@RequestMapping("/vigil")
+@CrossOrigin
+public class ClassHistogramController {
+
+    /** 类直方图记录器 */
+    private final ClassHistogramRecorder recorder;
+
+    /**
+     * 构造函数
+     *
+     * @param recorder 类直方图记录器，不能为 null
+     */
+    public ClassHistogramController(ClassHistogramRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * 获取类直方图报告
+     *
+     * 对比最近两次快照，返回增长最多的类。
+     *
+     * @param top 返回的类数量，默认 20
+     * @param sortBy 排序依据：bytes（默认）或 instances
+     * @return ResponseEntity<ClassHistogramInfo> 类直方图报告
+     */
+    @GetMapping("/histogram")
+    public ResponseEntity<ClassHistogramInfo> histogram(@RequestParam(value = "top", defaultValue = "20") int top,
+                                                        @RequestParam(value = "sortBy", defaultValue = "bytes") String sortBy) {
+        return ResponseEntity.ok(recorder.report(Math.max(1, top), sortBy));
+    }
+
+    /**
+     * 立即采集一次类直方图
+     *
+     * 距上次采集不足最小间隔或已有采集在进行时返回 429，当前 JVM 不支持类直方图命令时返回 503。
+     *
+     * @param top 返回的类数量，默认 20
+     * @param sortBy 排序依据：bytes（默认）或 instances
+     * @return ResponseEntity<ClassHistogramInfo> 包含本次快照的类直方图报告
+     */
+    @PostMapping("/histogram")
+    public ResponseEntity<ClassHistogramInfo> capture(@RequestParam(value = "top", defaultValue = "20") int top,
+                                                      @RequestParam(value = "sortBy", defaultValue = "bytes") String sortBy) {
+        ClassHistogramRecorder.CaptureResult result = recorder.capture(true);
+        if (result == ClassHistogramRecorder.CaptureResult.THROTTLED) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+        if (result == ClassHistogramRecorder.CaptureResult.UNAVAILABLE) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(recorder.report(Math.max(1, top), sortBy));
+    }
+}
@@ -1,6 +1,8 @@
 package org.htx.vigil.jvm.controller;
 
 import org.htx.vigil.jvm.dto.JvmMetrics;
+import org.htx.vigil.overhead.OverheadMeter;
+import org.htx.vigil.web.RouteLatencyRecorder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,6 +22,10 @@ import java.util.stream.Collectors;
  * - 类加载信息
  * - 运行时信息
  * - 操作系统信息
+ * - Vigil 自身开销
+ * - 各接口的请求延迟
+ * 
+ * 自身开销超出预算时，按开销计量器的设置缓存收集结果并跳过死锁检测。
  * 
  * @author Hao Tong Xue
  * @since 1.0.0
@@ -29,6 +35,29 @@ import java.util.stream.Collectors;
 @CrossOrigin
 public class JvmMetricsCollector {
 
+    /** 自身开销计量器 */
+    private final OverheadMeter meter;
+
+    /** 接口延迟记录器 */
+    private final RouteLatencyRecorder latencyRecorder;
+
+    /** 最近一次收集的指标，降级时在缓存时间内直接返回 */
+    private volatile JvmMetrics cached;
+
+    /** 最近一次收集的时间（Epoch 毫秒） */
+    private volatile long cachedAt;
+
+    /**
+     * 构造函数
+     * 
+     * @param meter 自身开销计量器，不能为 null
+     * @param latencyRecorder 接口延迟记录器，不能为 null
+     */
+    public JvmMetricsCollector(OverheadMeter meter, RouteLatencyRecorder latencyRecorder) {
+        this.meter = meter;
+        this.latencyRecorder = latencyRecorder;
+    }
+
     /**
      * 获取 JVM 运行时指标
      * 
@@ -38,6 +67,28 @@ public class JvmMetricsCollector {
      */
     @GetMapping("/metrics")
     public ResponseEntity<JvmMetrics> metrics() {
+        long now = System.currentTimeMillis();
+        JvmMetrics last = cached;
+        if (last != null && now - cachedAt < meter.getMetricsCacheMillis()) {
+            return ResponseEntity.ok(last);
+        }
+
+        long start = System.nanoTime();
+        JvmMetrics metrics = collect();
+        meter.recordCollect(System.nanoTime() - start);
+        metrics.setOverhead(meter.snapshot());
+        metrics.setEndpoints(latencyRecorder.snapshot());
+        cached = metrics;
+        cachedAt = now;
+        return ResponseEntity.ok(metrics);
+    }
+
+    /**
+     * 通过各 MXBean 收集指标
+     * 
+     * @return JvmMetrics 不含自身开销信息的 JVM 指标
+     */
+    private JvmMetrics collect() {
         JvmMetrics metrics = new JvmMetrics();
 
         MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
@@ -113,8 +164,8 @@ public class JvmMetricsCollector {
         threadInfo.setTotalStarted(threadMXBean.getTotalStartedThreadCount());
         metrics.setThreads(threadInfo);
 
-        // 检测当前是否存在死锁线程
-        long[] deadlockedIds = threadMXBean.findDeadlockedThreads();
+        // 检测当前是否存在死锁线程，线程数量多时开销较大，降级时跳过
+        long[] deadlockedIds = meter.isDeadlockDetection() ? threadMXBean.findDeadlockedThreads() : null;
         if (deadlockedIds != null) {
             metrics.setDeadlockedThreads(
                     Arrays.stream(deadlockedIds).boxed().collect(Collectors.toList())
@@ -168,7 +219,7 @@ public class JvmMetricsCollector {
             metrics.setOs(osInfo);
         }
 
-        return ResponseEntity.ok(metrics);
+        return metrics;
     }
 
 }
@@ -0,0 +1,59 @@
+package org.htx.vigil.jvm.controller;
+
+import org.htx.vigil.jvm.dto.MemoryPressureEvent;
+import org.htx.vigil.jvm.pressure.MemoryPressureMonitor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * 内存压力控制器
+ *
+ * 提供内存压力事件的查询接口和基于 SSE 的实时推送接口。
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+@RestController
+@RequestMapping("/vigil")
+@CrossOrigin
+public class MemoryPressureController {
+
+    /** 内存压力监视器 */
+    private final MemoryPressureMonitor monitor;
+
+    /**
+     * 构造函数
+     *
+     * @param monitor 内存压力监视器，不能为 null
+     */
+    public MemoryPressureController(MemoryPressureMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    /**
+     * 获取最近的内存压力事件
+     *
+     * @return ResponseEntity<List<MemoryPressureEvent>> 按时间正序排列的事件列表
+     */
+    @GetMapping("/memory/pressure")
+    public ResponseEntity<List<MemoryPressureEvent>> recent() {
+        return ResponseEntity.ok(monitor.recent());
+    }
+
+    /**
+     * 获取实时内存压力事件流
+     *
+     * @return Flux<String> 内存压力事件的 JSON 字符串流
+     */
+    @GetMapping(value = "/memory/pressure/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<String> stream() {
+        return monitor.getStream();
+    }
+}
@@ -0,0 +1,57 @@
+package org.htx.vigil.jvm.controller;
+
+import org.htx.vigil.jvm.diagnostic.NativeMemoryTracker;
+import org.htx.vigil.jvm.dto.NativeMemoryInfo;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 本地内存控制器
+ *
+ * 提供本地内存追踪（NMT）分类明细、RSS 以及相对基线变化的查询接口。
+ * NMT 分类明细需要 JVM 以 {@code -XX:NativeMemoryTracking=summary} 启动。
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+@RestController
+@RequestMapping("/vigil")
+@CrossOrigin
+public class NativeMemoryController {
+
+    /** 本地内存追踪器 */
+    private final NativeMemoryTracker tracker;
+
+    /**
+     * 构造函数
+     *
+     * @param tracker 本地内存追踪器，不能为 null
+     */
+    public NativeMemoryController(NativeMemoryTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    /**
+     * 获取本地内存信息
+     *
+     * @return ResponseEntity<NativeMemoryInfo> 本地内存信息，已设置基线时包含变化量
+     */
+    @GetMapping("/memory/native")
+    public ResponseEntity<NativeMemoryInfo> nativeMemory() {
+        return ResponseEntity.ok(tracker.summary());
+    }
+
+    /**
+     * 以当前状态作为对比基线
+     *
+     * @return ResponseEntity<NativeMemoryInfo> 作为基线的本地内存信息
+     */
+    @PostMapping("/memory/native/baseline")
+    public ResponseEntity<NativeMemoryInfo> baseline() {
+        return ResponseEntity.ok(tracker.baseline());
+    }
+}
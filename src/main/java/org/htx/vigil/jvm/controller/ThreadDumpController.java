@@ -0,0 +1,89 @@
+package org.htx.vigil.jvm.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.htx.vigil.jvm.dto.ThreadDumpInfo;
+import org.htx.vigil.jvm.dto.ThreadGroupInfo;
+import org.htx.vigil.jvm.thread.ThreadDumpSampler;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+/**
+ * 线程转储控制器
+ *
+ * 提供折叠后的线程转储接口：状态和调用栈相同的线程合并为一组并附带数量，
+ * 结果逐组写入响应流，避免在内存中拼接完整的 JSON。
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+@RestController
+@RequestMapping("/vigil")
+@CrossOrigin
+public class ThreadDumpController {
+
+    /** 线程转储采样器 */
+    private final ThreadDumpSampler sampler;
+
+    /** JSON 序列化器 */
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * 构造函数
+     *
+     * @param sampler 线程转储采样器，不能为 null
+     */
+    public ThreadDumpController(ThreadDumpSampler sampler) {
+        this.sampler = sampler;
+    }
+
+    /**
+     * 获取折叠后的线程转储
+     *
+     * @param lockedMonitors 是否采集持有的监视器锁，默认不采集以降低开销
+     * @param lockedSynchronizers 是否采集持有的同步器，默认不采集以降低开销
+     * @param maxDepth 最大栈深度，默认取 vigil.jvm.threads.max-depth，与定时采样一致才能计算变化量
+     * @return ResponseEntity<StreamingResponseBody> 按组内线程数量降序排列的线程分组
+     */
+    @GetMapping("/threads/dump")
+    public ResponseEntity<StreamingResponseBody> dump(
+            @RequestParam(value = "lockedMonitors", defaultValue = "false") boolean lockedMonitors,
+            @RequestParam(value = "lockedSynchronizers", defaultValue = "false") boolean lockedSynchronizers,
+            @RequestParam(value = "maxDepth", required = false) Integer maxDepth) {
+        int depth = maxDepth == null ? sampler.getMaxDepth() : Math.max(1, maxDepth);
+        ThreadDumpInfo dump = sampler.dump(lockedMonitors, lockedSynchronizers, depth);
+        StreamingResponseBody body = out -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+            generator.writeStartObject();
+            generator.writeNumberField("timestamp", dump.getTimestamp());
+            generator.writeNumberField("durationMillis", dump.getDurationMillis());
+            generator.writeNumberField("threadCount", dump.getThreadCount());
+            generator.writeArrayFieldStart("groups");
+            for (ThreadGroupInfo group : dump.getGroups()) {
+                generator.writeObject(group);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * 获取最近一次定时采样或内存压力采集中，相对上一次定时采样线程数量发生变化的分组
+     *
+     * @return ResponseEntity<List<ThreadGroupInfo>> 按变化量绝对值降序排列的分组
+     */
+    @GetMapping("/threads/changes")
+    public ResponseEntity<List<ThreadGroupInfo>> changes() {
+        return ResponseEntity.ok(sampler.changes());
+    }
+}
@@ -0,0 +1,192 @@
+package org.htx.vigil.jvm.diagnostic;
+
+import java.util.Arrays;
+
+/**
+ * 类直方图快照
+ *
+ * 解析 {@code GC.class_histogram} 的输出，按列存放到基本类型数组中，
+ * 下标相同的元素属于同一个类，避免为上万个类各创建一个对象。
+ * 不同类加载器加载的同名类在输出中各占一行，解析时按类名合并，合并后的行按类名排序，
+ * 两个快照之间可以按顺序归并对比，无需建立哈希表。
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+public final class ClassHistogram {
+
+    /** 采集时间（Epoch 毫秒） */
+    private final long timestamp;
+
+    /** 采集耗时（毫秒） */
+    private final long durationMillis;
+
+    /** 类名称 */
+    private final String[] classNames;
+
+    /** 实例数量 */
+    private final long[] instances;
+
+    /** 占用字节数 */
+    private final long[] bytes;
+
+    /** 类的数量 */
+    private final int size;
+
+    private ClassHistogram(long timestamp, long durationMillis, String[] classNames,
+                           long[] instances, long[] bytes, int size) {
+        this.timestamp = timestamp;
+        this.durationMillis = durationMillis;
+        this.classNames = classNames;
+        this.instances = instances;
+        this.bytes = bytes;
+        this.size = size;
+    }
+
+    /**
+     * 解析类直方图文本
+     *
+     * 数据行格式为 {@code "   1:   5207   243696  [B (java.base@17.0.9)"}，
+     * 表头、分隔线和 Total 行会被跳过，类名后的模块信息会被去掉。
+     *
+     * @param text 命令输出文本
+     * @param timestamp 采集时间（Epoch 毫秒）
+     * @param durationMillis 采集耗时（毫秒）
+     * @return 解析后的快照，同名类已合并，按类名排序
+     */
+    public static ClassHistogram parse(String text, long timestamp, long durationMillis) {
+        int capacity = 1024;
+        String[] names = new String[capacity];
+        long[] instances = new long[capacity];
+        long[] bytes = new long[capacity];
+        int size = 0;
+
+        int pos = 0;
+        int n = text.length();
+        while (pos < n) {
+            int end = text.indexOf('\n', pos);
+            if (end < 0) end = n;
+            int[] cursor = {pos};
+            // 行号列，形如 "1:"
+            if (skipNumber(text, cursor, end) >= 0 && cursor[0] < end && text.charAt(cursor[0]) == ':') {
+                cursor[0]++;
+                long count = skipNumber(text, cursor, end);
+                long classBytes = skipNumber(text, cursor, end);
+                String name = className(text, cursor[0], end);
+                if (count >= 0 && classBytes >= 0 && name != null) {
+                    if (size == capacity) {
+                        capacity <<= 1;
+                        names = Arrays.copyOf(names, capacity);
+                        instances = Arrays.copyOf(instances, capacity);
+                        bytes = Arrays.copyOf(bytes, capacity);
+                    }
+                    names[size] = name;
+                    instances[size] = count;
+                    bytes[size] = classBytes;
+                    size++;
+                }
+            }
+            pos = end + 1;
+        }
+        return mergeByName(timestamp, durationMillis, names, instances, bytes, size);
+    }
+
+    /**
+     * 按类名排序并合并同名的行
+     *
+     * 对下标数组排序，再按排序后的顺序把各列拷贝到新数组，相邻的同名行累加到一起。
+     */
+    private static ClassHistogram mergeByName(long timestamp, long durationMillis, String[] names,
+                                              long[] instances, long[] bytes, int size) {
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) order[i] = i;
+        sortByName(order, new int[size], 0, size, names);
+
+        String[] mergedNames = new String[size];
+        long[] mergedInstances = new long[size];
+        long[] mergedBytes = new long[size];
+        int count = 0;
+        for (int k = 0; k < size; k++) {
+            int i = order[k];
+            if (count > 0 && mergedNames[count - 1].equals(names[i])) {
+                mergedInstances[count - 1] += instances[i];
+                mergedBytes[count - 1] += bytes[i];
+            } else {
+                mergedNames[count] = names[i];
+                mergedInstances[count] = instances[i];
+                mergedBytes[count] = bytes[i];
+                count++;
+            }
+        }
+        return new ClassHistogram(timestamp, durationMillis, mergedNames, mergedInstances, mergedBytes, count);
+    }
+
+    /**
+     * 按类名对下标数组归并排序，区间为 [from, to)
+     */
+    private static void sortByName(int[] order, int[] buffer, int from, int to, String[] names) {
+        if (to - from < 2) return;
+        int mid = (from + to) >>> 1;
+        sortByName(order, buffer, from, mid, names);
+        sortByName(order, buffer, mid, to, names);
+        if (names[order[mid - 1]].compareTo(names[order[mid]]) <= 0) return;
+        System.arraycopy(order, from, buffer, from, to - from);
+        int left = from, right = mid;
+        for (int k = from; k < to; k++) {
+            if (right >= to || (left < mid && names[buffer[left]].compareTo(names[buffer[right]]) <= 0)) {
+                order[k] = buffer[left++];
+            } else {
+                order[k] = buffer[right++];
+            }
+        }
+    }
+
+    /**
+     * 跳过空白后读取一个非负整数
+     *
+     * @return 读取到的数值，没有数字时返回 -1
+     */
+    private static long skipNumber(String text, int[] cursor, int end) {
+        int i = cursor[0];
+        while (i < end && text.charAt(i) == ' ') i++;
+        long value = 0;
+        int start = i;
+        while (i < end) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') break;
+            value = value * 10 + (c - '0');
+            i++;
+        }
+        cursor[0] = i;
+        return i == start ? -1 : value;
+    }
+
+    private static String className(String text, int start, int end) {
+        while (start < end && text.charAt(start) == ' ') start++;
+        int stop = start;
+        while (stop < end && text.charAt(stop) != ' ' && text.charAt(stop) != '\r') stop++;
+        return stop == start ? null : text.substring(start, stop);
+    }
+
+    /** 实例总数 */
+    public long totalInstances() {
+        long total = 0;
+        for (int i = 0; i < size; i++) total += instances[i];
+        return total;
+    }
+
+    /** 占用总字节数 */
+    public long totalBytes() {
+        long total = 0;
+        for (int i = 0; i < size; i++) total += bytes[i];
+        return total;
+    }
+
+    // ================= Getter 方法 =================
+    public long getTimestamp() { return timestamp; }
+    public long getDurationMillis() { return durationMillis; }
+    public int size() { return size; }
+    public String className(int i) { return classNames[i]; }
+    public long instances(int i) { return instances[i]; }
+    public long bytes(int i) { return bytes[i]; }
+}
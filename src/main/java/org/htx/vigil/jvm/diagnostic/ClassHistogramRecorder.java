@@ -0,0 +1,244 @@
+package org.htx.vigil.jvm.diagnostic;
+
+import org.htx.vigil.autoconfigure.VigilProperties;
+import org.htx.vigil.autoconfigure.VigilScheduler;
+import org.htx.vigil.jvm.dto.ClassHistogramInfo;
+import org.htx.vigil.overhead.OverheadMeter;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 类直方图记录器
+ *
+ * 通过 DiagnosticCommand MBean 采集类直方图并保留最近若干次快照，用于对比各类实例的增长情况。
+ * 采集存活对象直方图会触发一次 Full GC，因此提供以下保护：
+ * - 同一时刻只允许一次采集
+ * - 两次采集之间至少间隔 {@code vigil.jvm.histogram.min-interval-seconds}
+ * - 已用堆内存超过 {@code vigil.jvm.histogram.max-heap-used-mb} 时跳过定时采集
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+@Component
+public class ClassHistogramRecorder {
+
+    /** 类直方图配置 */
+    private final VigilProperties.Histogram config;
+
+    /** 自身开销计量器 */
+    private final OverheadMeter meter;
+
+    /** 最近的快照，按采集时间正序排列 */
+    private final ArrayDeque<ClassHistogram> snapshots = new ArrayDeque<>();
+
+    /** 是否正在采集 */
+    private final AtomicBoolean capturing = new AtomicBoolean();
+
+    /** 上一次成功采集开始的时间（Epoch 毫秒） */
+    private volatile long lastCaptureTime;
+
+    /** 采集结果 */
+    public enum CaptureResult {
+        /** 已采集 */
+        CAPTURED,
+        /** 距上次采集不足最小间隔，或已有采集在进行 */
+        THROTTLED,
+        /** 已用堆内存超过上限，跳过自动采集 */
+        HEAP_LIMIT,
+        /** 当前 JVM 不支持该诊断命令（如没有 DiagnosticCommand MBean）或命令执行失败 */
+        UNAVAILABLE
+    }
+
+    /**
+     * 构造函数
+     *
+     * 配置了定时采集间隔时注册低频定时任务。
+     *
+     * @param properties Vigil 配置属性
+     * @param scheduler Vigil 后台调度器
+     * @param meter 自身开销计量器
+     */
+    public ClassHistogramRecorder(VigilProperties properties, VigilScheduler scheduler, OverheadMeter meter) {
+        this.config = properties.getJvm().getHistogram();
+        this.meter = meter;
+        if (config.getIntervalMinutes() > 0) {
+            scheduler.scheduleAtFixedRate(() -> capture(false), config.getIntervalMinutes(), TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * 采集一次类直方图
+     *
+     * 命令执行失败时不记录采集时间，不影响之后的重试。
+     *
+     * @param manual 是否为手动触发，手动触发不受堆内存上限限制
+     * @return 采集结果
+     */
+    public CaptureResult capture(boolean manual) {
+        long now = System.currentTimeMillis();
+        if (now - lastCaptureTime < TimeUnit.SECONDS.toMillis(config.getMinIntervalSeconds())) {
+            return CaptureResult.THROTTLED;
+        }
+        if (!manual && config.getMaxHeapUsedMb() > 0) {
+            long heapUsed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+            if (heapUsed > config.getMaxHeapUsedMb() * 1024 * 1024) return CaptureResult.HEAP_LIMIT;
+        }
+        if (!capturing.compareAndSet(false, true)) {
+            return CaptureResult.THROTTLED;
+        }
+        try {
+            long start = System.nanoTime();
+            String text;
+            try {
+                text = config.isLive()
+                        ? DiagnosticCommands.invoke("gcClassHistogram")
+                        : DiagnosticCommands.invoke("gcClassHistogram", "-all");
+            } catch (IllegalStateException e) {
+                return CaptureResult.UNAVAILABLE;
+            }
+            lastCaptureTime = now;
+            long elapsed = System.nanoTime() - start;
+            meter.recordDiagnostic(elapsed, manual);
+            long duration = TimeUnit.NANOSECONDS.toMillis(elapsed);
+            ClassHistogram histogram = ClassHistogram.parse(text, now, duration);
+            synchronized (snapshots) {
+                snapshots.addLast(histogram);
+                while (snapshots.size() > Math.max(2, config.getMaxSnapshots())) {
+                    snapshots.removeFirst();
+                }
+            }
+            return CaptureResult.CAPTURED;
+        } finally {
+            capturing.set(false);
+        }
+    }
+
+    /**
+     * 生成类直方图报告
+     *
+     * 对比最近两次快照，按增长量降序返回前 N 个类；只有一次快照时按绝对占用排序。
+     *
+     * @param top 返回的类数量
+     * @param sortBy 排序依据：instances 按实例数，其他按字节数
+     * @return 类直方图报告
+     */
+    public ClassHistogramInfo report(int top, String sortBy) {
+        List<ClassHistogram> list;
+        synchronized (snapshots) {
+            list = new ArrayList<>(snapshots);
+        }
+        boolean byInstances = "instances".equalsIgnoreCase(sortBy);
+
+        ClassHistogramInfo info = new ClassHistogramInfo();
+        info.setSortBy(byInstances ? "instances" : "bytes");
+        List<ClassHistogramInfo.SnapshotInfo> summaries = new ArrayList<>(list.size());
+        for (ClassHistogram histogram : list) {
+            ClassHistogramInfo.SnapshotInfo summary = new ClassHistogramInfo.SnapshotInfo();
+            summary.setTimestamp(histogram.getTimestamp());
+            summary.setDurationMillis(histogram.getDurationMillis());
+            summary.setClassCount(histogram.size());
+            summary.setTotalInstances(histogram.totalInstances());
+            summary.setTotalBytes(histogram.totalBytes());
+            summaries.add(summary);
+        }
+        info.setSnapshots(summaries);
+        if (list.isEmpty()) {
+            info.setTop(new ArrayList<>());
+            return info;
+        }
+
+        ClassHistogram target = list.get(list.size() - 1);
+        ClassHistogram base = list.size() > 1 ? list.get(list.size() - 2) : null;
+        info.setTargetTimestamp(target.getTimestamp());
+        info.setBaseTimestamp(base == null ? 0 : base.getTimestamp());
+
+        // 两个快照都已按类名排序，顺序归并计算增长量，基准快照中不存在的类视为从 0 增长
+        int n = target.size();
+        long[] instanceDelta = new long[n];
+        long[] byteDelta = new long[n];
+        int j = 0;
+        for (int i = 0; i < n; i++) {
+            String name = target.className(i);
+            while (base != null && j < base.size() && base.className(j).compareTo(name) < 0) j++;
+            boolean found = base != null && j < base.size() && base.className(j).equals(name);
+            instanceDelta[i] = target.instances(i) - (found ? base.instances(j) : 0);
+            byteDelta[i] = target.bytes(i) - (found ? base.bytes(j) : 0);
+        }
+
+        // 选出增长量最大的前 N 个类
+        int[] order = topIndices(byInstances ? instanceDelta : byteDelta, Math.min(top, n));
+        List<ClassHistogramInfo.ClassGrowth> growth = new ArrayList<>(order.length);
+        for (int i : order) {
+            ClassHistogramInfo.ClassGrowth item = new ClassHistogramInfo.ClassGrowth();
+            item.setClassName(target.className(i));
+            item.setInstances(target.instances(i));
+            item.setBytes(target.bytes(i));
+            item.setInstanceDelta(instanceDelta[i]);
+            item.setByteDelta(byteDelta[i]);
+            growth.add(item);
+        }
+        info.setTop(growth);
+        return info;
+    }
+
+    /**
+     * 部分排序：用大小为 k 的小顶堆选出 key 最大的 k 个下标
+     *
+     * @param key 排序依据
+     * @param k 选出的数量
+     * @return 按 key 降序排列的下标
+     */
+    static int[] topIndices(long[] key, int k) {
+        int[] heap = new int[k];
+        if (k == 0) return heap;
+        int size = 0;
+        for (int i = 0; i < key.length; i++) {
+            if (size < k) {
+                heap[size] = i;
+                siftUp(heap, size++, key);
+            } else if (key[i] > key[heap[0]]) {
+                heap[0] = i;
+                siftDown(heap, size, key);
+            }
+        }
+        // 依次取出堆顶（最小值）放到末尾，得到降序结果
+        for (int end = size - 1; end > 0; end--) {
+            int min = heap[0];
+            heap[0] = heap[end];
+            heap[end] = min;
+            siftDown(heap, end, key);
+        }
+        return heap;
+    }
+
+    private static void siftUp(int[] heap, int pos, long[] key) {
+        int item = heap[pos];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (key[heap[parent]] <= key[item]) break;
+            heap[pos] = heap[parent];
+            pos = parent;
+        }
+        heap[pos] = item;
+    }
+
+    private static void siftDown(int[] heap, int size, long[] key) {
+        int item = heap[0];
+        int pos = 0;
+        while (true) {
+            int child = 2 * pos + 1;
+            if (child >= size) break;
+            if (child + 1 < size && key[heap[child + 1]] < key[heap[child]]) child++;
+            if (key[item] <= key[heap[child]]) break;
+            heap[pos] = heap[child];
+            pos = child;
+        }
+        heap[pos] = item;
+    }
+}
@@ -0,0 +1,45 @@
+package org.htx.vigil.jvm.diagnostic;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * HotSpot 诊断命令调用工具
+ *
+ * 通过 {@code com.sun.management:type=DiagnosticCommand} MBean 在进程内执行 jcmd 等价命令，
+ * 无需外部进程或 attach 权限。
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+public final class DiagnosticCommands {
+
+    /** 诊断命令 MBean 名称 */
+    private static final String MBEAN_NAME = "com.sun.management:type=DiagnosticCommand";
+
+    /** 诊断命令操作的参数签名 */
+    private static final String[] SIGNATURE = {String[].class.getName()};
+
+    private DiagnosticCommands() {
+    }
+
+    /**
+     * 执行诊断命令
+     *
+     * @param operation MBean 操作名，如 gcClassHistogram、vmNativeMemory
+     * @param args 命令参数，如 -all、summary
+     * @return 命令输出文本
+     * @throws IllegalStateException 当前 JVM 不支持该命令或执行失败
+     */
+    public static String invoke(String operation, String... args) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            Object result = server.invoke(new ObjectName(MBEAN_NAME), operation, new Object[]{args}, SIGNATURE);
+            return result == null ? "" : result.toString();
+        } catch (JMException e) {
+            throw new IllegalStateException("Diagnostic command " + operation + " failed: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package org.htx.vigil.jvm.diagnostic;
+
+import java.util.Arrays;
+
+/**
+ * 本地内存追踪（NMT）摘要
+ *
+ * 解析 {@code VM.native_memory summary} 的输出，按列存放各分类（Java Heap、Class、Thread、Code、GC 等）的
+ * 保留量、提交量以及 malloc / arena 占用，所有数值均换算为字节。
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+public final class NativeMemorySummary {
+
+    /** 采集时间（Epoch 毫秒） */
+    private final long timestamp;
+
+    /** 总保留量（字节） */
+    private final long totalReserved;
+
+    /** 总提交量（字节） */
+    private final long totalCommitted;
+
+    /** 分类名称 */
+    private final String[] categories;
+
+    /** 各分类保留量（字节） */
+    private final long[] reserved;
+
+    /** 各分类提交量（字节） */
+    private final long[] committed;
+
+    /** 各分类 malloc 占用（字节），无此项时为 0 */
+    private final long[] malloc;
+
+    /** 各分类 arena 占用（字节），无此项时为 0 */
+    private final long[] arena;
+
+    /** 分类数量 */
+    private final int size;
+
+    private NativeMemorySummary(long timestamp, long totalReserved, long totalCommitted, String[] categories,
+                                long[] reserved, long[] committed, long[] malloc, long[] arena, int size) {
+        this.timestamp = timestamp;
+        this.totalReserved = totalReserved;
+        this.totalCommitted = totalCommitted;
+        this.categories = categories;
+        this.reserved = reserved;
+        this.committed = committed;
+        this.malloc = malloc;
+        this.arena = arena;
+        this.size = size;
+    }
+
+    /**
+     * 解析 NMT 摘要文本
+     *
+     * 分类行形如 {@code "-   Java Heap (reserved=1538048KB, committed=96256KB)"}，
+     * 其后以括号开头的行是该分类的明细，从中提取 {@code malloc=} 和 {@code arena=}。
+     *
+     * @param text 命令输出文本
+     * @param timestamp 采集时间（Epoch 毫秒）
+     * @return 解析后的摘要，未开启 NMT 时返回 null
+     */
+    public static NativeMemorySummary parse(String text, long timestamp) {
+        if (!text.contains("reserved=")) return null;
+
+        int capacity = 32;
+        String[] categories = new String[capacity];
+        long[] reserved = new long[capacity];
+        long[] committed = new long[capacity];
+        long[] malloc = new long[capacity];
+        long[] arena = new long[capacity];
+        int size = 0;
+        long totalReserved = 0;
+        long totalCommitted = 0;
+
+        for (String raw : text.split("\n")) {
+            String line = raw.trim();
+            if (line.startsWith("Total:")) {
+                totalReserved = value(line, "reserved=");
+                totalCommitted = value(line, "committed=");
+            } else if (line.startsWith("-") && line.contains("(reserved=")) {
+                if (size == capacity) {
+                    capacity <<= 1;
+                    categories = Arrays.copyOf(categories, capacity);
+                    reserved = Arrays.copyOf(reserved, capacity);
+                    committed = Arrays.copyOf(committed, capacity);
+                    malloc = Arrays.copyOf(malloc, capacity);
+                    arena = Arrays.copyOf(arena, capacity);
+                }
+                categories[size] = line.substring(1, line.indexOf("(reserved=")).trim();
+                reserved[size] = value(line, "reserved=");
+                committed[size] = value(line, "committed=");
+                size++;
+            } else if (size > 0 && line.startsWith("(")) {
+                // 当前分类的明细行
+                if (line.startsWith("(malloc=")) malloc[size - 1] = value(line, "malloc=");
+                else if (line.startsWith("(arena=")) arena[size - 1] = value(line, "arena=");
+            }
+        }
+        return new NativeMemorySummary(timestamp, totalReserved, totalCommitted, categories,
+                reserved, committed, malloc, arena, size);
+    }
+
+    /**
+     * 读取 {@code key} 后面带单位的数值并换算为字节
+     *
+     * @return 字节数，找不到时返回 0
+     */
+    private static long value(String line, String key) {
+        int start = line.indexOf(key);
+        if (start < 0) return 0;
+        int i = start + key.length();
+        long number = 0;
+        while (i < line.length() && Character.isDigit(line.charAt(i))) {
+            number = number * 10 + (line.charAt(i) - '0');
+            i++;
+        }
+        if (line.startsWith("KB", i)) return number << 10;
+        if (line.startsWith("MB", i)) return number << 20;
+        if (line.startsWith("GB", i)) return number << 30;
+        return number;
+    }
+
+    /**
+     * 查找分类对应的下标
+     *
+     * @param category 分类名称
+     * @return 下标，不存在时返回 -1
+     */
+    public int indexOf(String category) {
+        for (int i = 0; i < size; i++) {
+            if (categories[i].equals(category)) return i;
+        }
+        return -1;
+    }
+
+    // ================= Getter 方法 =================
+    public long getTimestamp() { return timestamp; }
+    public long getTotalReserved() { return totalReserved; }
+    public long getTotalCommitted() { return totalCommitted; }
+    public int size() { return size; }
+    public String category(int i) { return categories[i]; }
+    public long reserved(int i) { return reserved[i]; }
+    public long committed(int i) { return committed[i]; }
+    public long malloc(int i) { return malloc[i]; }
+    public long arena(int i) { return arena[i]; }
+}
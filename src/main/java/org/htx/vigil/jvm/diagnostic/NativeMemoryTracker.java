@@ -0,0 +1,155 @@
+package org.htx.vigil.jvm.diagnostic;
+
+import org.htx.vigil.jvm.dto.NativeMemoryInfo;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 本地内存追踪器
+ *
+ * 在 JVM 以 {@code -XX:NativeMemoryTracking=summary|detail} 启动时，通过 DiagnosticCommand MBean
+ * 执行 {@code vmNativeMemory summary} 并解析各分类占用；同时读取 {@code /proc/self/status} 中的 RSS。
+ * 堆的提交量多数未被触及，不计入驻留内存，因此缺口只比较堆以外的部分：
+ * {@code (RssAnon - 已用堆) - (NMT 总提交量 - Java Heap 提交量)}。支持记录基线并输出相对基线的变化。
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+@Component
+public class NativeMemoryTracker {
+
+    /** Linux 进程状态文件 */
+    private static final Path PROC_STATUS = Paths.get("/proc/self/status");
+
+    /** NMT 中 Java 堆的分类名 */
+    private static final String HEAP_CATEGORY = "Java Heap";
+
+    /** 对比基线，未设置时为 null */
+    private volatile NativeMemorySummary baseline;
+
+    /**
+     * 采集当前本地内存信息
+     *
+     * @return 本地内存信息，包含相对基线的变化
+     */
+    public NativeMemoryInfo summary() {
+        NativeMemorySummary current = capture();
+        return toInfo(current, baseline);
+    }
+
+    /**
+     * 以当前状态作为基线
+     *
+     * @return 本地内存信息，未开启 NMT 时不会设置基线
+     */
+    public NativeMemoryInfo baseline() {
+        NativeMemorySummary current = capture();
+        if (current != null) {
+            baseline = current;
+        }
+        return toInfo(current, current);
+    }
+
+    /**
+     * 执行 NMT 摘要命令
+     *
+     * @return 解析后的摘要，未开启 NMT 或命令不可用时返回 null
+     */
+    private static NativeMemorySummary capture() {
+        try {
+            return NativeMemorySummary.parse(DiagnosticCommands.invoke("vmNativeMemory", "summary"),
+                    System.currentTimeMillis());
+        } catch (IllegalStateException e) {
+            return null;
+        }
+    }
+
+    private static NativeMemoryInfo toInfo(NativeMemorySummary current, NativeMemorySummary base) {
+        NativeMemoryInfo info = new NativeMemoryInfo();
+        info.setTimestamp(current == null ? System.currentTimeMillis() : current.getTimestamp());
+        readProcStatus(info);
+        if (current == null) {
+            info.setCategories(new ArrayList<>());
+            return info;
+        }
+
+        info.setEnabled(true);
+        info.setTotalReserved(current.getTotalReserved());
+        info.setTotalCommitted(current.getTotalCommitted());
+        int heap = current.indexOf(HEAP_CATEGORY);
+        long heapUsed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        info.setHeapUsed(heapUsed);
+        info.setNonHeapCommitted(current.getTotalCommitted() - (heap < 0 ? 0 : current.committed(heap)));
+        if (info.getRssAnon() >= 0) {
+            // 文件映射（jar、CDS 归档）不属于本地内存，只比较匿名页
+            info.setUnaccounted(info.getRssAnon() - heapUsed - info.getNonHeapCommitted());
+        }
+        if (base != null) {
+            info.setBaselineTimestamp(base.getTimestamp());
+            info.setTotalCommittedDelta(current.getTotalCommitted() - base.getTotalCommitted());
+        }
+
+        List<NativeMemoryInfo.Category> categories = new ArrayList<>(current.size());
+        for (int i = 0; i < current.size(); i++) {
+            NativeMemoryInfo.Category category = new NativeMemoryInfo.Category();
+            category.setName(current.category(i));
+            category.setReserved(current.reserved(i));
+            category.setCommitted(current.committed(i));
+            category.setMalloc(current.malloc(i));
+            category.setArena(current.arena(i));
+            if (base != null) {
+                int j = base.indexOf(current.category(i));
+                category.setCommittedDelta(current.committed(i) - (j < 0 ? 0 : base.committed(j)));
+            }
+            categories.add(category);
+        }
+        info.setCategories(categories);
+        return info;
+    }
+
+    /**
+     * 读取 /proc/self/status 中的 RSS 信息，非 Linux 系统上均为 -1
+     *
+     * @param info 本地内存信息
+     */
+    private static void readProcStatus(NativeMemoryInfo info) {
+        info.setRss(-1);
+        info.setRssAnon(-1);
+        info.setRssFile(-1);
+        info.setRssShmem(-1);
+        if (!Files.isReadable(PROC_STATUS)) return;
+        try {
+            for (String line : Files.readAllLines(PROC_STATUS, StandardCharsets.UTF_8)) {
+                if (line.startsWith("VmRSS:")) info.setRss(kilobytes(line));
+                else if (line.startsWith("RssAnon:")) info.setRssAnon(kilobytes(line));
+                else if (line.startsWith("RssFile:")) info.setRssFile(kilobytes(line));
+                else if (line.startsWith("RssShmem:")) info.setRssShmem(kilobytes(line));
+            }
+        } catch (IOException ignored) {
+            // 读取失败时保持 -1
+        }
+    }
+
+    /**
+     * 解析形如 {@code "VmRSS:    1576 kB"} 的行
+     *
+     * @return 字节数
+     */
+    private static long kilobytes(String line) {
+        long value = 0;
+        for (int i = line.indexOf(':') + 1; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c >= '0' && c <= '9') value = value * 10 + (c - '0');
+            else if (value > 0) break;
+        }
+        return value << 10;
+    }
+}
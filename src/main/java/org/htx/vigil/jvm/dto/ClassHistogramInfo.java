@@ -0,0 +1,93 @@
+package org.htx.vigil.jvm.dto;
+
+import java.util.List;
+
+/**
+ * 类直方图信息
+ *
+ * 包含快照概要以及两次快照之间按实例数或字节数增长排序的类列表，用于排查内存泄漏。
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+public class ClassHistogramInfo {
+
+    /** 保留的快照概要，按采集时间正序排列 */
+    private List<SnapshotInfo> snapshots;
+
+    /** 对比基准快照的采集时间（Epoch 毫秒），无对比时为 0 */
+    private long baseTimestamp;
+
+    /** 对比目标快照的采集时间（Epoch 毫秒） */
+    private long targetTimestamp;
+
+    /** 排序依据：instances / bytes */
+    private String sortBy;
+
+    /** 增长最多的类 */
+    private List<ClassGrowth> top;
+
+    // ================= 快照概要 =================
+    public static class SnapshotInfo {
+        /** 采集时间（Epoch 毫秒） */
+        private long timestamp;
+        /** 采集耗时（毫秒） */
+        private long durationMillis;
+        /** 类的数量 */
+        private int classCount;
+        /** 实例总数 */
+        private long totalInstances;
+        /** 占用总字节数 */
+        private long totalBytes;
+
+        // getter / setter
+        public long getTimestamp() { return timestamp; }
+        public void setTimestamp(long timestamp) { this.timestamp = timestamp; }
+        public long getDurationMillis() { return durationMillis; }
+        public void setDurationMillis(long durationMillis) { this.durationMillis = durationMillis; }
+        public int getClassCount() { return classCount; }
+        public void setClassCount(int classCount) { this.classCount = classCount; }
+        public long getTotalInstances() { return totalInstances; }
+        public void setTotalInstances(long totalInstances) { this.totalInstances = totalInstances; }
+        public long getTotalBytes() { return totalBytes; }
+        public void setTotalBytes(long totalBytes) { this.totalBytes = totalBytes; }
+    }
+
+    // ================= 类增长信息 =================
+    public static class ClassGrowth {
+        /** 类名称 */
+        private String className;
+        /** 目标快照中的实例数量 */
+        private long instances;
+        /** 目标快照中占用的字节数 */
+        private long bytes;
+        /** 实例数量增长（可能为负） */
+        private long instanceDelta;
+        /** 占用字节数增长（可能为负） */
+        private long byteDelta;
+
+        // getter / setter
+        public String getClassName() { return className; }
+        public void setClassName(String className) { this.className = className; }
+        public long getInstances() { return instances; }
+        public void setInstances(long instances) { this.instances = instances; }
+        public long getBytes() { return bytes; }
+        public void setBytes(long bytes) { this.bytes = bytes; }
+        public long getInstanceDelta() { return instanceDelta; }
+        public void setInstanceDelta(long instanceDelta) { this.instanceDelta = instanceDelta; }
+        public long getByteDelta() { return byteDelta; }
+        public void setByteDelta(long byteDelta) { this.byteDelta = byteDelta; }
+    }
+
+    // ================= 主类 getter / setter =================
+    public List<SnapshotInfo> getSnapshots() { return snapshots; }
+    public void setSnapshots(List<SnapshotInfo> snapshots) { this.snapshots = snapshots; }
+    public long getBaseTimestamp() { return baseTimestamp; }
+    public void setBaseTimestamp(long baseTimestamp) { this.baseTimestamp = baseTimestamp; }
+    public long getTargetTimestamp() { return targetTimestamp; }
+    public void setTargetTimestamp(long targetTimestamp) { this.targetTimestamp = targetTimestamp; }
+    public String getSortBy() { return sortBy; }
+    public void setSortBy(String sortBy) { this.sortBy = sortBy; }
+    public List<ClassGrowth> getTop() { return top; }
+    public void setTop(List<ClassGrowth> top) { this.top = top; }
+}
@@ -35,6 +35,12 @@ public class JvmMetrics implements Serializable {
     /** 操作系统及物理资源信息 */
     private OsInfo os;
 
+    /** Vigil 自身开销信息 */
+    private OverheadInfo overhead;
+
+    /** 各接口的请求延迟统计 */
+    private List<EndpointInfo> endpoints;
+
     // ================= 内存基本信息 =================
     public static class MemoryInfo {
         /** 已使用堆内存（字节） */
@@ -265,6 +271,150 @@ public class JvmMetrics implements Serializable {
         public void setFreeSwapSpace(long freeSwapSpace) { this.freeSwapSpace = freeSwapSpace; }
     }
 
+    // ================= Vigil 自身开销信息 =================
+    public static class OverheadInfo {
+        /** 当前降级等级，0 表示未降级 */
+        private int level;
+        /** CPU 预算（占全部可用 CPU 的百分比） */
+        private double cpuBudgetPercent;
+        /** 最近一个评估周期 Vigil 占全部可用 CPU 的百分比 */
+        private double cpuPercent;
+        /** 最近一个评估周期 Vigil 占本进程 CPU 时间的百分比，不支持时为 -1 */
+        private double processCpuSharePercent;
+        /** INFO 及以下日志的采样率，每 N 条保留 1 条 */
+        private int logSampleRate;
+        /** 定时采集任务的执行间隔倍数 */
+        private int collectionStretch;
+        /** /vigil/metrics 结果的缓存时间（毫秒），0 表示不缓存 */
+        private long metricsCacheMillis;
+        /** 是否执行死锁检测 */
+        private boolean deadlockDetection;
+        /** 已处理的日志事件数量 */
+        private long appendCount;
+        /** 处理日志事件累计耗时（纳秒），包含序列化 */
+        private long appendNanos;
+        /** 因采样被丢弃的日志事件数量 */
+        private long droppedLogs;
+        /** JSON 序列化次数 */
+        private long serializeCount;
+        /** JSON 序列化累计耗时（纳秒） */
+        private long serializeNanos;
+        /** 推送给所有订阅者的累计字节数 */
+        private long bytesEmitted;
+        /** 推送的消息累计字节数，每条消息只计一次，即全程在线的单个订阅者收到的字节数 */
+        private long bytesPerSubscriber;
+        /** 当前订阅者数量 */
+        private int subscribers;
+        /** MXBean 指标收集次数 */
+        private long collectCount;
+        /** MXBean 指标收集累计耗时（纳秒） */
+        private long collectNanos;
+        /** 诊断采集（线程转储、类直方图）次数 */
+        private long diagnosticCount;
+        /** 诊断采集累计耗时（纳秒） */
+        private long diagnosticNanos;
+        /** 手动诊断次数 */
+        private long manualDiagnosticCount;
+        /** 手动诊断累计耗时（纳秒），不计入开销预算 */
+        private long manualDiagnosticNanos;
+
+        // getter / setter
+        public int getLevel() { return level; }
+        public void setLevel(int level) { this.level = level; }
+        public double getCpuBudgetPercent() { return cpuBudgetPercent; }
+        public void setCpuBudgetPercent(double cpuBudgetPercent) { this.cpuBudgetPercent = cpuBudgetPercent; }
+        public double getCpuPercent() { return cpuPercent; }
+        public void setCpuPercent(double cpuPercent) { this.cpuPercent = cpuPercent; }
+        public double getProcessCpuSharePercent() { return processCpuSharePercent; }
+        public void setProcessCpuSharePercent(double processCpuSharePercent) { this.processCpuSharePercent = processCpuSharePercent; }
+        public int getLogSampleRate() { return logSampleRate; }
+        public void setLogSampleRate(int logSampleRate) { this.logSampleRate = logSampleRate; }
+        public int getCollectionStretch() { return collectionStretch; }
+        public void setCollectionStretch(int collectionStretch) { this.collectionStretch = collectionStretch; }
+        public long getMetricsCacheMillis() { return metricsCacheMillis; }
+        public void setMetricsCacheMillis(long metricsCacheMillis) { this.metricsCacheMillis = metricsCacheMillis; }
+        public boolean isDeadlockDetection() { return deadlockDetection; }
+        public void setDeadlockDetection(boolean deadlockDetection) { this.deadlockDetection = deadlockDetection; }
+        public long getAppendCount() { return appendCount; }
+        public void setAppendCount(long appendCount) { this.appendCount = appendCount; }
+        public long getAppendNanos() { return appendNanos; }
+        public void setAppendNanos(long appendNanos) { this.appendNanos = appendNanos; }
+        public long getDroppedLogs() { return droppedLogs; }
+        public void setDroppedLogs(long droppedLogs) { this.droppedLogs = droppedLogs; }
+        public long getSerializeCount() { return serializeCount; }
+        public void setSerializeCount(long serializeCount) { this.serializeCount = serializeCount; }
+        public long getSerializeNanos() { return serializeNanos; }
+        public void setSerializeNanos(long serializeNanos) { this.serializeNanos = serializeNanos; }
+        public long getBytesEmitted() { return bytesEmitted; }
+        public void setBytesEmitted(long bytesEmitted) { this.bytesEmitted = bytesEmitted; }
+        public long getBytesPerSubscriber() { return bytesPerSubscriber; }
+        public void setBytesPerSubscriber(long bytesPerSubscriber) { this.bytesPerSubscriber = bytesPerSubscriber; }
+        public int getSubscribers() { return subscribers; }
+        public void setSubscribers(int subscribers) { this.subscribers = subscribers; }
+        public long getCollectCount() { return collectCount; }
+        public void setCollectCount(long collectCount) { this.collectCount = collectCount; }
+        public long getCollectNanos() { return collectNanos; }
+        public void setCollectNanos(long collectNanos) { this.collectNanos = collectNanos; }
+        public long getDiagnosticCount() { return diagnosticCount; }
+        public void setDiagnosticCount(long diagnosticCount) { this.diagnosticCount = diagnosticCount; }
+        public long getDiagnosticNanos() { return diagnosticNanos; }
+        public void setDiagnosticNanos(long diagnosticNanos) { this.diagnosticNanos = diagnosticNanos; }
+        public long getManualDiagnosticCount() { return manualDiagnosticCount; }
+        public void setManualDiagnosticCount(long manualDiagnosticCount) { this.manualDiagnosticCount = manualDiagnosticCount; }
+        public long getManualDiagnosticNanos() { return manualDiagnosticNanos; }
+        public void setManualDiagnosticNanos(long manualDiagnosticNanos) { this.manualDiagnosticNanos = manualDiagnosticNanos; }
+    }
+
+    // ================= 接口请求延迟信息 =================
+    public static class EndpointInfo {
+        /** HTTP 方法 */
+        private String method;
+        /** 匹配的路由模式，如 /orders/{id} */
+        private String pattern;
+        /** 统计范围内的请求数 */
+        private long count;
+        /** 统计范围内的错误请求数（5xx 或抛出异常） */
+        private long errors;
+        /** 吞吐量（请求/秒） */
+        private double throughput;
+        /** 平均耗时（毫秒） */
+        private double meanMillis;
+        /** 50 分位耗时（毫秒） */
+        private double p50Millis;
+        /** 90 分位耗时（毫秒） */
+        private double p90Millis;
+        /** 99 分位耗时（毫秒） */
+        private double p99Millis;
+        /** 最大耗时（毫秒） */
+        private double maxMillis;
+        /** 统计范围（秒） */
+        private double spanSeconds;
+
+        // getter / setter
+        public String getMethod() { return method; }
+        public void setMethod(String method) { this.method = method; }
+        public String getPattern() { return pattern; }
+        public void setPattern(String pattern) { this.pattern = pattern; }
+        public long getCount() { return count; }
+        public void setCount(long count) { this.count = count; }
+        public long getErrors() { return errors; }
+        public void setErrors(long errors) { this.errors = errors; }
+        public double getThroughput() { return throughput; }
+        public void setThroughput(double throughput) { this.throughput = throughput; }
+        public double getMeanMillis() { return meanMillis; }
+        public void setMeanMillis(double meanMillis) { this.meanMillis = meanMillis; }
+        public double getP50Millis() { return p50Millis; }
+        public void setP50Millis(double p50Millis) { this.p50Millis = p50Millis; }
+        public double getP90Millis() { return p90Millis; }
+        public void setP90Millis(double p90Millis) { this.p90Millis = p90Millis; }
+        public double getP99Millis() { return p99Millis; }
+        public void setP99Millis(double p99Millis) { this.p99Millis = p99Millis; }
+        public double getMaxMillis() { return maxMillis; }
+        public void setMaxMillis(double maxMillis) { this.maxMillis = maxMillis; }
+        public double getSpanSeconds() { return spanSeconds; }
+        public void setSpanSeconds(double spanSeconds) { this.spanSeconds = spanSeconds; }
+    }
+
     // ================= 主类 getter / setter =================
     public MemoryInfo getMemory() { return memory; }
     public void setMemory(MemoryInfo memory) { this.memory = memory; }
@@ -298,5 +448,21 @@ public class JvmMetrics implements Serializable {
     public void setOs(OsInfo os) {
         this.os = os;
     }
+
+    public OverheadInfo getOverhead() {
+        return overhead;
+    }
+
+    public void setOverhead(OverheadInfo overhead) {
+        this.overhead = overhead;
+    }
+
+    public List<EndpointInfo> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(List<EndpointInfo> endpoints) {
+        this.endpoints = endpoints;
+    }
 }
    
@@ -0,0 +1,64 @@
+package org.htx.vigil.jvm.dto;
+
+/**
+ * 内存压力事件
+ *
+ * 堆内存池使用量越过阈值时由 JVM 通知产生。
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+public class MemoryPressureEvent {
+
+    /** 事件时间（Epoch 毫秒） */
+    private long timestamp;
+
+    /** 阈值类型：USAGE 为实时使用量，COLLECTION 为 GC 后使用量 */
+    private String type;
+
+    /** 内存池名称（如 G1 Old Gen） */
+    private String poolName;
+
+    /** 越过阈值时的已使用内存（字节） */
+    private long used;
+
+    /** 越过阈值时的已提交内存（字节） */
+    private long committed;
+
+    /** 内存池最大值（字节） */
+    private long max;
+
+    /** 阈值（字节） */
+    private long threshold;
+
+    /** 自阈值设置以来越过阈值的累计次数 */
+    private long count;
+
+    /**
+     * 自动采集类直方图的结果，未开启自动采集时为 null
+     *
+     * 推送时为 PENDING，采集在后台线程完成后更新为 CAPTURED、THROTTLED、HEAP_LIMIT（已用堆超过
+     * {@code vigil.jvm.histogram.max-heap-used-mb} 被跳过）或 UNAVAILABLE，可通过最近事件接口查看。
+     */
+    private volatile String histogramCapture;
+
+    // getter / setter
+    public long getTimestamp() { return timestamp; }
+    public void setTimestamp(long timestamp) { this.timestamp = timestamp; }
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    public String getPoolName() { return poolName; }
+    public void setPoolName(String poolName) { this.poolName = poolName; }
+    public long getUsed() { return used; }
+    public void setUsed(long used) { this.used = used; }
+    public long getCommitted() { return committed; }
+    public void setCommitted(long committed) { this.committed = committed; }
+    public long getMax() { return max; }
+    public void setMax(long max) { this.max = max; }
+    public long getThreshold() { return threshold; }
+    public void setThreshold(long threshold) { this.threshold = threshold; }
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+    public String getHistogramCapture() { return histogramCapture; }
+    public void setHistogramCapture(String histogramCapture) { this.histogramCapture = histogramCapture; }
+}
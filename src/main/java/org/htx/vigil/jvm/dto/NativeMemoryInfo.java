@@ -0,0 +1,121 @@
+package org.htx.vigil.jvm.dto;
+
+import java.util.List;
+
+/**
+ * 本地内存信息
+ *
+ * 结合本地内存追踪（NMT）摘要与进程实际驻留内存（RSS），用于定位容器 OOM 的来源：
+ * Metaspace、线程栈、Code Cache、malloc arena 等，以及 NMT 无法解释的本地内存缺口。
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+public class NativeMemoryInfo {
+
+    /** JVM 是否开启了本地内存追踪（-XX:NativeMemoryTracking） */
+    private boolean enabled;
+
+    /** 采集时间（Epoch 毫秒） */
+    private long timestamp;
+
+    /** 对比基线的采集时间（Epoch 毫秒），未设置基线时为 0 */
+    private long baselineTimestamp;
+
+    /** NMT 统计的总保留量（字节） */
+    private long totalReserved;
+
+    /** NMT 统计的总提交量（字节） */
+    private long totalCommitted;
+
+    /** 相对基线的总提交量变化（字节） */
+    private long totalCommittedDelta;
+
+    /** 进程驻留内存 VmRSS（字节），不可用时为 -1 */
+    private long rss;
+
+    /** 匿名页驻留内存 RssAnon（字节），不可用时为 -1 */
+    private long rssAnon;
+
+    /** 文件映射驻留内存 RssFile（字节），不可用时为 -1 */
+    private long rssFile;
+
+    /** 共享内存驻留 RssShmem（字节），不可用时为 -1 */
+    private long rssShmem;
+
+    /** 已用堆（字节），作为堆驻留内存的近似 */
+    private long heapUsed;
+
+    /** NMT 总提交量去掉 Java Heap 分类后的部分（字节） */
+    private long nonHeapCommitted;
+
+    /**
+     * 堆外驻留内存与 NMT 堆外提交量之差（字节），即 {@code (rssAnon - heapUsed) - nonHeapCommitted}，RssAnon 不可用时为 0。
+     * GC 后已释放但仍驻留的堆页会计入 RssAnon，因此只有持续明显为正时才说明存在 NMT 未追踪的本地内存，
+     * 如第三方 native 库的 malloc；开启 -XX:+AlwaysPreTouch 时已用堆低估堆驻留量，该值偏大
+     */
+    private long unaccounted;
+
+    /** 各分类明细 */
+    private List<Category> categories;
+
+    // ================= 分类信息 =================
+    public static class Category {
+        /** 分类名称（如 Java Heap、Class、Thread、Code、GC、Internal、Symbol） */
+        private String name;
+        /** 保留量（字节） */
+        private long reserved;
+        /** 提交量（字节） */
+        private long committed;
+        /** malloc 占用（字节） */
+        private long malloc;
+        /** arena 占用（字节） */
+        private long arena;
+        /** 相对基线的提交量变化（字节） */
+        private long committedDelta;
+
+        // getter / setter
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public long getReserved() { return reserved; }
+        public void setReserved(long reserved) { this.reserved = reserved; }
+        public long getCommitted() { return committed; }
+        public void setCommitted(long committed) { this.committed = committed; }
+        public long getMalloc() { return malloc; }
+        public void setMalloc(long malloc) { this.malloc = malloc; }
+        public long getArena() { return arena; }
+        public void setArena(long arena) { this.arena = arena; }
+        public long getCommittedDelta() { return committedDelta; }
+        public void setCommittedDelta(long committedDelta) { this.committedDelta = committedDelta; }
+    }
+
+    // ================= 主类 getter / setter =================
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public long getTimestamp() { return timestamp; }
+    public void setTimestamp(long timestamp) { this.timestamp = timestamp; }
+    public long getBaselineTimestamp() { return baselineTimestamp; }
+    public void setBaselineTimestamp(long baselineTimestamp) { this.baselineTimestamp = baselineTimestamp; }
+    public long getTotalReserved() { return totalReserved; }
+    public void setTotalReserved(long totalReserved) { this.totalReserved = totalReserved; }
+    public long getTotalCommitted() { return totalCommitted; }
+    public void setTotalCommitted(long totalCommitted) { this.totalCommitted = totalCommitted; }
+    public long getTotalCommittedDelta() { return totalCommittedDelta; }
+    public void setTotalCommittedDelta(long totalCommittedDelta) { this.totalCommittedDelta = totalCommittedDelta; }
+    public long getRss() { return rss; }
+    public void setRss(long rss) { this.rss = rss; }
+    public long getRssAnon() { return rssAnon; }
+    public void setRssAnon(long rssAnon) { this.rssAnon = rssAnon; }
+    public long getRssFile() { return rssFile; }
+    public void setRssFile(long rssFile) { this.rssFile = rssFile; }
+    public long getRssShmem() { return rssShmem; }
+    public void setRssShmem(long rssShmem) { this.rssShmem = rssShmem; }
+    public long getHeapUsed() { return heapUsed; }
+    public void setHeapUsed(long heapUsed) { this.heapUsed = heapUsed; }
+    public long getNonHeapCommitted() { return nonHeapCommitted; }
+    public void setNonHeapCommitted(long nonHeapCommitted) { this.nonHeapCommitted = nonHeapCommitted; }
+    public long getUnaccounted() { return unaccounted; }
+    public void setUnaccounted(long unaccounted) { this.unaccounted = unaccounted; }
+    public List<Category> getCategories() { return categories; }
+    public void setCategories(List<Category> categories) { this.categories = categories; }
+}
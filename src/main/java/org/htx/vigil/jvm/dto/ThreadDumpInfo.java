@@ -0,0 +1,34 @@
+package org.htx.vigil.jvm.dto;
+
+import java.util.List;
+
+/**
+ * 折叠后的线程转储
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+public class ThreadDumpInfo {
+
+    /** 采集时间（Epoch 毫秒） */
+    private long timestamp;
+
+    /** 采集与分组耗时（毫秒） */
+    private long durationMillis;
+
+    /** 线程总数 */
+    private int threadCount;
+
+    /** 线程分组，按组内线程数量降序排列 */
+    private List<ThreadGroupInfo> groups;
+
+    // getter / setter
+    public long getTimestamp() { return timestamp; }
+    public void setTimestamp(long timestamp) { this.timestamp = timestamp; }
+    public long getDurationMillis() { return durationMillis; }
+    public void setDurationMillis(long durationMillis) { this.durationMillis = durationMillis; }
+    public int getThreadCount() { return threadCount; }
+    public void setThreadCount(int threadCount) { this.threadCount = threadCount; }
+    public List<ThreadGroupInfo> getGroups() { return groups; }
+    public void setGroups(List<ThreadGroupInfo> groups) { this.groups = groups; }
+}
@@ -0,0 +1,51 @@
+package org.htx.vigil.jvm.dto;
+
+import java.util.List;
+
+/**
+ * 线程分组信息
+ *
+ * 线程状态和调用栈完全相同的线程归为一组，大量空闲的线程池线程会折叠成一条记录。
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+public class ThreadGroupInfo {
+
+    /** 线程状态（如 RUNNABLE、WAITING、BLOCKED） */
+    private String state;
+
+    /** 组内线程数量 */
+    private int count;
+
+    /** 相对上一次采样的线程数量变化，上一次采样中不存在该组时等于 count，栈深度与上一次采样不同时为 0 */
+    private int delta;
+
+    /** 线程名称模式，去掉数字后的公共名称（如 http-nio-8080-exec-#） */
+    private String namePattern;
+
+    /** 组内部分线程名称 */
+    private List<String> threadNames;
+
+    /** 等待或阻塞的锁（如果有） */
+    private String lockName;
+
+    /** 调用栈，从栈顶开始 */
+    private List<String> stack;
+
+    // getter / setter
+    public String getState() { return state; }
+    public void setState(String state) { this.state = state; }
+    public int getCount() { return count; }
+    public void setCount(int count) { this.count = count; }
+    public int getDelta() { return delta; }
+    public void setDelta(int delta) { this.delta = delta; }
+    public String getNamePattern() { return namePattern; }
+    public void setNamePattern(String namePattern) { this.namePattern = namePattern; }
+    public List<String> getThreadNames() { return threadNames; }
+    public void setThreadNames(List<String> threadNames) { this.threadNames = threadNames; }
+    public String getLockName() { return lockName; }
+    public void setLockName(String lockName) { this.lockName = lockName; }
+    public List<String> getStack() { return stack; }
+    public void setStack(List<String> stack) { this.stack = stack; }
+}
@@ -0,0 +1,256 @@
+package org.htx.vigil.jvm.pressure;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.htx.vigil.autoconfigure.VigilProperties;
+import org.htx.vigil.autoconfigure.VigilScheduler;
+import org.htx.vigil.jvm.diagnostic.ClassHistogramRecorder;
+import org.htx.vigil.jvm.dto.MemoryPressureEvent;
+import org.htx.vigil.jvm.thread.ThreadDumpSampler;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 内存压力监视器
+ *
+ * 在堆内存池上设置使用量阈值和 GC 后使用量阈值，并监听 JVM 发出的 {@link MemoryNotificationInfo} 通知。
+ * 由 JVM 在越过阈值时主动通知，平时没有任何轮询开销；检测到压力后立即推送到 SSE 流，
+ * 并可按配置自动采集一次类直方图或线程转储。持续高压时同一内存池的通知在静默期内只推送一次。
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+@Component
+public class MemoryPressureMonitor implements NotificationListener, DisposableBean {
+
+    /** 最多保留的最近事件数量 */
+    private static final int MAX_RECENT = 50;
+
+    /** 内存压力检测配置 */
+    private final VigilProperties.Pressure config;
+
+    /** 类直方图记录器，用于检测到压力时自动采集 */
+    private final ClassHistogramRecorder histogramRecorder;
+
+    /** 线程转储采样器，用于检测到压力时自动采样 */
+    private final ThreadDumpSampler threadDumpSampler;
+
+    /** Vigil 后台调度器，自动采集在调度线程中执行，不阻塞 JMX 通知线程 */
+    private final VigilScheduler scheduler;
+
+    /** 响应式流接收器，支持重放最近的一条事件 */
+    private final Sinks.Many<String> sink = Sinks.many().replay().limit(1);
+
+    /** JSON 序列化器 */
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /** 最近的内存压力事件 */
+    private final ArrayDeque<MemoryPressureEvent> recent = new ArrayDeque<>();
+
+    /** 内存池与阈值类型 → 上次推送时间，用于抑制持续高压下的重复推送，只在 JMX 通知线程中访问 */
+    private final Map<String, Long> lastEmitted = new HashMap<>();
+
+    /** 是否已注册通知监听 */
+    private boolean registered;
+
+    /** 本监视器设置过的阈值，关闭时恢复为未设置 */
+    private final List<Threshold> installed = new ArrayList<>();
+
+    /**
+     * 构造函数，按配置设置阈值并注册通知监听
+     *
+     * @param properties Vigil 配置属性
+     * @param histogramRecorder 类直方图记录器
+     * @param threadDumpSampler 线程转储采样器
+     * @param scheduler Vigil 后台调度器
+     */
+    public MemoryPressureMonitor(VigilProperties properties, ClassHistogramRecorder histogramRecorder,
+                                 ThreadDumpSampler threadDumpSampler, VigilScheduler scheduler) {
+        this.config = properties.getJvm().getPressure();
+        this.histogramRecorder = histogramRecorder;
+        this.threadDumpSampler = threadDumpSampler;
+        this.scheduler = scheduler;
+        if (config.isEnabled()) {
+            configureThresholds();
+            ((NotificationEmitter) ManagementFactory.getMemoryMXBean()).addNotificationListener(this, null, null);
+            registered = true;
+        }
+    }
+
+    /**
+     * 为所有设置了最大值的堆内存池设置阈值
+     *
+     * 百分比限制在 0~100 之间，0 表示不设置。不支持某类阈值的内存池（如 Eden 不支持使用量阈值）会被跳过；
+     * 阈值已被应用或其他组件设置（不为 0）的内存池也会被跳过，避免覆盖对方的设置。
+     */
+    private void configureThresholds() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() != MemoryType.HEAP) continue;
+            long max = pool.getUsage().getMax();
+            if (max <= 0) continue;
+
+            Integer override = config.getPools().get(pool.getName());
+            if (pool.isUsageThresholdSupported() && pool.getUsageThreshold() == 0) {
+                long threshold = threshold(max, override != null ? override : config.getUsagePercent());
+                if (threshold > 0) {
+                    pool.setUsageThreshold(threshold);
+                    installed.add(new Threshold(pool, true, threshold));
+                }
+            }
+            if (pool.isCollectionUsageThresholdSupported() && pool.getCollectionUsageThreshold() == 0) {
+                long threshold = threshold(max, override != null ? override : config.getCollectionUsagePercent());
+                if (threshold > 0) {
+                    pool.setCollectionUsageThreshold(threshold);
+                    installed.add(new Threshold(pool, false, threshold));
+                }
+            }
+        }
+    }
+
+    private static long threshold(long max, int percent) {
+        return max * Math.max(0, Math.min(100, percent)) / 100;
+    }
+
+    /**
+     * 处理 JVM 内存通知
+     *
+     * @param notification JMX 通知
+     * @param handback 注册时传入的回传对象，未使用
+     */
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        String type = notification.getType();
+        boolean usage = MemoryNotificationInfo.MEMORY_THRESHOLD_EXCEEDED.equals(type);
+        if (!usage && !MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(type)) return;
+
+        MemoryNotificationInfo info = MemoryNotificationInfo.from((CompositeData) notification.getUserData());
+        String key = info.getPoolName() + '/' + type;
+        Long last = lastEmitted.get(key);
+        long now = notification.getTimeStamp();
+        if (last != null && now - last < TimeUnit.SECONDS.toMillis(config.getQuietSeconds())) return;
+        lastEmitted.put(key, now);
+
+        MemoryUsage memoryUsage = info.getUsage();
+        MemoryPressureEvent event = new MemoryPressureEvent();
+        event.setTimestamp(now);
+        event.setType(usage ? "USAGE" : "COLLECTION");
+        event.setPoolName(info.getPoolName());
+        event.setUsed(memoryUsage.getUsed());
+        event.setCommitted(memoryUsage.getCommitted());
+        event.setMax(memoryUsage.getMax());
+        event.setThreshold(threshold(info.getPoolName(), usage));
+        event.setCount(info.getCount());
+        if (config.isCaptureHistogram()) {
+            event.setHistogramCapture("PENDING");
+        }
+
+        synchronized (recent) {
+            recent.addLast(event);
+            if (recent.size() > MAX_RECENT) recent.removeFirst();
+        }
+        if (sink.currentSubscriberCount() > 0) {
+            try {
+                sink.tryEmitNext(objectMapper.writeValueAsString(event));
+            } catch (JsonProcessingException ignored) {
+                // 忽略序列化异常，避免影响通知处理
+            }
+        }
+        if (config.isCaptureHistogram()) {
+            scheduler.execute(() -> event.setHistogramCapture(histogramRecorder.capture(false).name()));
+        }
+        if (config.isCaptureThreadDump()) {
+            scheduler.execute(threadDumpSampler::capture);
+        }
+    }
+
+    private static long threshold(String poolName, boolean usage) {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getName().equals(poolName)) {
+                return usage ? pool.getUsageThreshold() : pool.getCollectionUsageThreshold();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 获取最近的内存压力事件
+     *
+     * @return 按时间正序排列的事件列表
+     */
+    public List<MemoryPressureEvent> recent() {
+        synchronized (recent) {
+            return new ArrayList<>(recent);
+        }
+    }
+
+    /**
+     * 获取内存压力事件流
+     *
+     * @return Flux<String> 内存压力事件的 JSON 字符串流
+     */
+    public Flux<String> getStream() {
+        return sink.asFlux();
+    }
+
+    /**
+     * 移除通知监听并恢复设置前的阈值（只会设置原本为 0 的阈值，因此恢复为 0）
+     *
+     * 阈值在此期间被其他组件修改过的内存池保持不变。
+     */
+    @Override
+    public void destroy() {
+        for (Threshold threshold : installed) {
+            threshold.restore();
+        }
+        installed.clear();
+        if (!registered) return;
+        try {
+            ((NotificationEmitter) ManagementFactory.getMemoryMXBean()).removeNotificationListener(this);
+        } catch (ListenerNotFoundException ignored) {
+            // 监听已被移除
+        }
+    }
+
+    // ================= 已设置的阈值 =================
+    private static final class Threshold {
+        /** 内存池 */
+        final MemoryPoolMXBean pool;
+        /** true 为使用量阈值，false 为 GC 后使用量阈值 */
+        final boolean usage;
+        /** 设置的阈值 */
+        final long value;
+
+        Threshold(MemoryPoolMXBean pool, boolean usage, long value) {
+            this.pool = pool;
+            this.usage = usage;
+            this.value = value;
+        }
+
+        void restore() {
+            if (usage) {
+                if (pool.getUsageThreshold() == value) pool.setUsageThreshold(0);
+            } else if (pool.getCollectionUsageThreshold() == value) {
+                pool.setCollectionUsageThreshold(0);
+            }
+        }
+    }
+}
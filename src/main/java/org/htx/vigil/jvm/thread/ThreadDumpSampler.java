@@ -0,0 +1,311 @@
+package org.htx.vigil.jvm.thread;
+
+import org.htx.vigil.autoconfigure.VigilProperties;
+import org.htx.vigil.autoconfigure.VigilScheduler;
+import org.htx.vigil.jvm.dto.ThreadDumpInfo;
+import org.htx.vigil.jvm.dto.ThreadGroupInfo;
+import org.htx.vigil.overhead.OverheadMeter;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 线程转储采样器
+ *
+ * 采集全部线程的调用栈，并将状态和调用栈完全相同的线程折叠为一组，上千个线程通常只剩几十组。
+ * 每次采集都会与对比基准比较，得出各组线程数量的变化，便于发现正在堆积的线程（如阻塞在同一把锁上）。
+ * 对比基准只由定时采样更新，手动转储和内存压力采集只与基准比较、不替换基准，
+ * 因此 {@link #changes()} 反映的始终是相对最近一次定时采样的变化。定时采样不采集锁信息以降低开销。
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+@Component
+public class ThreadDumpSampler {
+
+    /** 线程转储配置 */
+    private final VigilProperties.Threads config;
+
+    /** 自身开销计量器 */
+    private final OverheadMeter meter;
+
+    /** 最近一次定时采样的分组，作为计算变化量的基准 */
+    private Map<StackKey, ThreadGroupInfo> previous = Collections.emptyMap();
+
+    /** 对比基准使用的栈深度，深度不同的采集之间不做对比，-1 表示尚无基准 */
+    private int previousDepth = -1;
+
+    /** 最近一次定时采样或内存压力采集中数量发生变化的分组 */
+    private List<ThreadGroupInfo> changes = Collections.emptyList();
+
+    /**
+     * 构造函数
+     *
+     * 配置了采样间隔时注册定时采样任务。
+     *
+     * @param properties Vigil 配置属性
+     * @param scheduler Vigil 后台调度器
+     * @param meter 自身开销计量器
+     */
+    public ThreadDumpSampler(VigilProperties properties, VigilScheduler scheduler, OverheadMeter meter) {
+        this.config = properties.getJvm().getThreads();
+        this.meter = meter;
+        if (config.getSamplingIntervalSeconds() > 0) {
+            scheduler.scheduleAtFixedRate(this::sample, config.getSamplingIntervalSeconds(), TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * 定时采样：以低开销方式采集一次，不采集锁信息，并以本次结果替换对比基准
+     */
+    public void sample() {
+        collect(false, false, config.getMaxDepth(), true, true, false);
+    }
+
+    /**
+     * 内存压力采集：与定时采样相同的方式采集一次，变化记入 {@link #changes()}，但不替换对比基准
+     */
+    public void capture() {
+        collect(false, false, config.getMaxDepth(), false, true, false);
+    }
+
+    /**
+     * 采集并折叠线程转储
+     *
+     * 各组的变化量相对最近一次定时采样计算，不影响对比基准和 {@link #changes()}。
+     *
+     * @param lockedMonitors 是否采集线程持有的监视器锁，开销较大
+     * @param lockedSynchronizers 是否采集线程持有的同步器，开销较大
+     * @param maxDepth 最大栈深度
+     * @return 折叠后的线程转储
+     */
+    public ThreadDumpInfo dump(boolean lockedMonitors, boolean lockedSynchronizers, int maxDepth) {
+        return collect(lockedMonitors, lockedSynchronizers, maxDepth, false, false, true);
+    }
+
+    /**
+     * 获取配置的最大栈深度，定时采样以该深度采集，只有相同深度的转储才会计算变化量
+     *
+     * @return 最大栈深度
+     */
+    public int getMaxDepth() {
+        return config.getMaxDepth();
+    }
+
+    /**
+     * 采集、折叠并与基准对比
+     *
+     * @param updateBaseline 是否以本次结果替换对比基准
+     * @param recordChanges 是否将本次变化记入 {@link #changes()}
+     * @param manual 是否为通过接口手动触发，手动触发的耗时不计入开销预算
+     */
+    private ThreadDumpInfo collect(boolean lockedMonitors, boolean lockedSynchronizers, int maxDepth,
+                                   boolean updateBaseline, boolean recordChanges, boolean manual) {
+        long timestamp = System.currentTimeMillis();
+        long start = System.nanoTime();
+        ThreadInfo[] threads = threadInfos(lockedMonitors, lockedSynchronizers, maxDepth);
+
+        // 按状态 + 调用栈分组
+        Map<StackKey, Builder> builders = new HashMap<>();
+        for (ThreadInfo thread : threads) {
+            if (thread == null) continue;
+            StackTraceElement[] stack = thread.getStackTrace();
+            if (stack.length > maxDepth) stack = Arrays.copyOf(stack, maxDepth);
+            StackKey key = new StackKey(thread.getThreadState(), stack);
+            Builder builder = builders.get(key);
+            if (builder == null) {
+                builder = new Builder(thread, stack);
+                builders.put(key, builder);
+            }
+            builder.add(thread, config.getMaxNamesPerGroup());
+        }
+
+        Map<StackKey, ThreadGroupInfo> current = new LinkedHashMap<>();
+        for (Map.Entry<StackKey, Builder> entry : builders.entrySet()) {
+            current.put(entry.getKey(), entry.getValue().build());
+        }
+        List<ThreadGroupInfo> groups = new ArrayList<>(current.values());
+        groups.sort((a, b) -> Integer.compare(b.getCount(), a.getCount()));
+        compare(current, maxDepth, updateBaseline, recordChanges);
+
+        ThreadDumpInfo dump = new ThreadDumpInfo();
+        dump.setTimestamp(timestamp);
+        dump.setThreadCount(threads.length);
+        dump.setGroups(groups);
+        long elapsed = System.nanoTime() - start;
+        meter.recordDiagnostic(elapsed, manual);
+        dump.setDurationMillis(TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return dump;
+    }
+
+    /**
+     * 读取全部线程信息
+     *
+     * 不采集锁信息时按深度读取，只截取需要的栈帧；采集锁信息时只能读取完整调用栈，由调用方截断。
+     * 两种方式均为 Java 8 可用的接口。
+     */
+    private static ThreadInfo[] threadInfos(boolean lockedMonitors, boolean lockedSynchronizers, int maxDepth) {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (lockedMonitors || lockedSynchronizers) {
+            return bean.dumpAllThreads(lockedMonitors, lockedSynchronizers);
+        }
+        return bean.getThreadInfo(bean.getAllThreadIds(), maxDepth);
+    }
+
+    /**
+     * 与对比基准比较，填充各组的变化量
+     *
+     * 基准中存在、本次消失的分组以数量 0 和负变化量记入变化列表。
+     * 栈深度与基准不同的采集（如手动指定了其他深度）不做对比，变化量保持为 0。
+     */
+    private synchronized void compare(Map<StackKey, ThreadGroupInfo> current, int maxDepth,
+                                      boolean updateBaseline, boolean recordChanges) {
+        if (previousDepth >= 0 && previousDepth != maxDepth) return;
+        List<ThreadGroupInfo> changed = new ArrayList<>();
+        for (Map.Entry<StackKey, ThreadGroupInfo> entry : current.entrySet()) {
+            ThreadGroupInfo group = entry.getValue();
+            ThreadGroupInfo before = previous.get(entry.getKey());
+            group.setDelta(group.getCount() - (before == null ? 0 : before.getCount()));
+            if (group.getDelta() != 0) changed.add(group);
+        }
+        for (Map.Entry<StackKey, ThreadGroupInfo> entry : previous.entrySet()) {
+            if (current.containsKey(entry.getKey())) continue;
+            ThreadGroupInfo gone = copyOf(entry.getValue());
+            gone.setCount(0);
+            gone.setDelta(-entry.getValue().getCount());
+            changed.add(gone);
+        }
+        changed.sort((a, b) -> Integer.compare(Math.abs(b.getDelta()), Math.abs(a.getDelta())));
+        if (updateBaseline) {
+            previous = current;
+            previousDepth = maxDepth;
+        }
+        if (recordChanges) {
+            changes = changed;
+        }
+    }
+
+    /**
+     * 获取最近一次定时采样或内存压力采集中，相对对比基准线程数量发生变化的分组
+     *
+     * @return 按变化量绝对值降序排列的分组
+     */
+    public synchronized List<ThreadGroupInfo> changes() {
+        return changes;
+    }
+
+    private static ThreadGroupInfo copyOf(ThreadGroupInfo source) {
+        ThreadGroupInfo copy = new ThreadGroupInfo();
+        copy.setState(source.getState());
+        copy.setNamePattern(source.getNamePattern());
+        copy.setThreadNames(source.getThreadNames());
+        copy.setLockName(source.getLockName());
+        copy.setStack(source.getStack());
+        return copy;
+    }
+
+    /**
+     * 将线程名中的数字替换为 #，如 http-nio-8080-exec-12 → http-nio-#-exec-#
+     */
+    static String namePattern(String name) {
+        StringBuilder sb = new StringBuilder(name.length());
+        boolean digits = false;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (!digits) sb.append('#');
+                digits = true;
+            } else {
+                sb.append(c);
+                digits = false;
+            }
+        }
+        return sb.toString();
+    }
+
+    // ================= 分组键 =================
+    static final class StackKey {
+        /** 线程状态 */
+        final Thread.State state;
+        /** 调用栈 */
+        final StackTraceElement[] stack;
+        /** 缓存的哈希值 */
+        final int hash;
+
+        StackKey(Thread.State state, StackTraceElement[] stack) {
+            this.state = state;
+            this.stack = stack;
+            this.hash = 31 * state.hashCode() + Arrays.hashCode(stack);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof StackKey)) return false;
+            StackKey other = (StackKey) o;
+            return hash == other.hash && state == other.state && Arrays.equals(stack, other.stack);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    // ================= 分组构建器 =================
+    static final class Builder {
+        /** 分组代表线程，提供状态 */
+        final ThreadInfo first;
+        /** 截断后的调用栈 */
+        final StackTraceElement[] frames;
+        /** 组内线程数量 */
+        int count;
+        /** 组内部分线程名称 */
+        final List<String> names = new ArrayList<>();
+        /** 公共名称模式，组内模式不一致时为 * */
+        String pattern;
+        /** 公共锁名称，组内不一致时为 null */
+        String lockName;
+
+        Builder(ThreadInfo first, StackTraceElement[] frames) {
+            this.first = first;
+            this.frames = frames;
+            this.pattern = namePattern(first.getThreadName());
+            this.lockName = first.getLockName();
+        }
+
+        void add(ThreadInfo thread, int maxNames) {
+            count++;
+            if (names.size() < maxNames) names.add(thread.getThreadName());
+            if (count > 1) {
+                if (!"*".equals(pattern) && !pattern.equals(namePattern(thread.getThreadName()))) pattern = "*";
+                if (lockName != null && !lockName.equals(thread.getLockName())) lockName = null;
+            }
+        }
+
+        ThreadGroupInfo build() {
+            ThreadGroupInfo group = new ThreadGroupInfo();
+            group.setState(first.getThreadState().toString());
+            group.setCount(count);
+            group.setNamePattern(pattern);
+            group.setThreadNames(names);
+            group.setLockName(lockName);
+            List<String> stack = new ArrayList<>(frames.length);
+            for (StackTraceElement frame : frames) {
+                stack.add(frame.toString());
+            }
+            group.setStack(stack);
+            return group;
+        }
+    }
+}
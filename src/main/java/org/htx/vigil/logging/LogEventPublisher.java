@@ -3,6 +3,7 @@ package org.htx.vigil.logging;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.htx.vigil.logging.dto.UnifiedLogEvent;
+import org.htx.vigil.overhead.OverheadMeter;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Sinks;
@@ -25,6 +26,19 @@ public class LogEventPublisher {
     /** JSON 序列化器，用于将日志事件转换为 JSON 字符串 */
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    /** 自身开销计量器，记录序列化耗时和推送字节数 */
+    private final OverheadMeter meter;
+
+    /**
+     * 构造函数
+     * 
+     * @param meter 自身开销计量器，不能为 null
+     */
+    public LogEventPublisher(OverheadMeter meter) {
+        this.meter = meter;
+        meter.setSubscriberCount(sink::currentSubscriberCount);
+    }
+
     /**
      * 发布日志事件
      * 
@@ -35,9 +49,13 @@ public class LogEventPublisher {
      */
     public void publish(UnifiedLogEvent logEvent) {
         // 只有在有订阅者时才发布事件，提高性能
-        if (sink.currentSubscriberCount() > 0) {
+        int subscribers = sink.currentSubscriberCount();
+        if (subscribers > 0) {
             try {
-                sink.tryEmitNext(objectMapper.writeValueAsString(logEvent));
+                long start = System.nanoTime();
+                String json = objectMapper.writeValueAsString(logEvent);
+                meter.recordSerialize(System.nanoTime() - start, json.length(), subscribers);
+                sink.tryEmitNext(json);
             } catch (JsonProcessingException ignored) {
                 // 忽略序列化异常，避免影响主业务流程
             }
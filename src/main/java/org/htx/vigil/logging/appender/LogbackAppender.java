@@ -5,6 +5,11 @@ import ch.qos.logback.classic.spi.ILoggingEvent;
 import org.apache.catalina.core.ApplicationContext;
 import org.htx.vigil.logging.LogEventPublisher;
 import org.htx.vigil.logging.dto.UnifiedLogEvent;
+import org.htx.vigil.logging.index.LogEventIndex;
+import org.htx.vigil.logging.index.TraceIndex;
+import org.htx.vigil.overhead.OverheadMeter;
+
+import java.util.Map;
 
 /**
  * Logback 自定义 Appender
@@ -24,6 +29,18 @@ public class LogbackAppender extends AppenderBase<ILoggingEvent> {
     /** 日志事件发布器，用于将日志事件发布到响应式流 */
     private LogEventPublisher publisher;
 
+    /** 日志事件全文索引，用于历史日志检索，null 表示不建立索引 */
+    private LogEventIndex index;
+
+    /** 链路追踪索引，null 表示不采集 MDC */
+    private TraceIndex traceIndex;
+
+    /** 需要从 MDC 中采集的键 */
+    private String[] mdcKeys = new String[0];
+
+    /** 自身开销计量器，null 表示不计量也不采样 */
+    private OverheadMeter meter;
+
     /**
      * 设置日志事件发布器
      * 
@@ -33,11 +50,42 @@ public class LogbackAppender extends AppenderBase<ILoggingEvent> {
         this.publisher = publisher;
     }
 
+    /**
+     * 设置日志事件全文索引
+     * 
+     * @param index 日志事件全文索引，null 表示不建立索引
+     */
+    public void setIndex(LogEventIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * 设置链路追踪索引
+     * 
+     * 同时从索引中获取需要采集的 MDC 键。
+     * 
+     * @param traceIndex 链路追踪索引，null 表示不采集 MDC
+     */
+    public void setTraceIndex(TraceIndex traceIndex) {
+        this.traceIndex = traceIndex;
+        this.mdcKeys = traceIndex == null ? new String[0] : traceIndex.getMdcKeys();
+    }
+
+    /**
+     * 设置自身开销计量器
+     * 
+     * @param meter 自身开销计量器，null 表示不计量也不采样
+     */
+    public void setOverheadMeter(OverheadMeter meter) {
+        this.meter = meter;
+    }
+
     /**
      * 处理日志事件
      * 
-     * 将 Logback 的日志事件转换为 UnifiedLogEvent 并通过发布器发布。
-     * 只有在 Appender 已启动且发布器不为空时才处理事件。
+     * 将 Logback 的日志事件转换为 UnifiedLogEvent，写入全文索引并通过发布器发布。
+     * 只有在 Appender 已启动且发布器不为空时才处理事件；开销超出预算时按计量器的采样率丢弃低级别日志，
+     * 被丢弃的事件既不写入索引也不发布，同一追踪的事件一起保留或丢弃，丢弃数量体现在检索结果中。
      * 
      * @param eventObject Logback 日志事件对象
      */
@@ -46,6 +94,23 @@ public class LogbackAppender extends AppenderBase<ILoggingEvent> {
         // 检查 Appender 状态和发布器是否可用
         if (!isStarted() || publisher == null) return;
 
+        OverheadMeter meter = this.meter;
+        if (meter == null) {
+            process(eventObject);
+            return;
+        }
+        if (meter.isSampling() && !meter.sample(eventObject.getLevel(), traceId(eventObject))) return;
+        long start = System.nanoTime();
+        process(eventObject);
+        meter.recordAppend(System.nanoTime() - start);
+    }
+
+    /**
+     * 转换、索引并发布日志事件
+     * 
+     * @param eventObject Logback 日志事件对象
+     */
+    private void process(ILoggingEvent eventObject) {
         // 创建统一的日志事件对象
         UnifiedLogEvent logEvent = new UnifiedLogEvent();
         logEvent.reset(
@@ -58,10 +123,61 @@ public class LogbackAppender extends AppenderBase<ILoggingEvent> {
                 packageName
         );
 
+        // 只采集配置的 MDC 键，不复制整个 MDC
+        if (mdcKeys.length > 0) {
+            captureMdc(eventObject, logEvent);
+        }
+
+        // 写入全文索引，供历史日志检索；带追踪信息的事件同时记录到追踪索引
+        if (index != null) {
+            long seq = index.add(logEvent);
+            if (traceIndex != null && logEvent.hasMdc()) {
+                traceIndex.add(seq, logEvent);
+            }
+        }
+
         // 发布日志事件
         publisher.publish(logEvent);
     }
 
+    /**
+     * 获取事件的追踪 ID，即第一个有值的采集 MDC 键的值
+     * 
+     * @param eventObject Logback 日志事件对象
+     * @return 追踪 ID，没有时返回 null
+     */
+    private String traceId(ILoggingEvent eventObject) {
+        if (mdcKeys.length == 0) return null;
+        Map<String, String> mdc = eventObject.getMDCPropertyMap();
+        if (mdc == null || mdc.isEmpty()) return null;
+        for (String key : mdcKeys) {
+            String value = mdc.get(key);
+            if (value != null) return value;
+        }
+        return null;
+    }
+
+    /**
+     * 采集 MDC 信息
+     * 
+     * @param eventObject Logback 日志事件对象
+     * @param logEvent 统一日志事件
+     */
+    private void captureMdc(ILoggingEvent eventObject, UnifiedLogEvent logEvent) {
+        Map<String, String> mdc = eventObject.getMDCPropertyMap();
+        if (mdc == null || mdc.isEmpty()) return;
+        String[] values = null;
+        for (int i = 0; i < mdcKeys.length; i++) {
+            String value = mdc.get(mdcKeys[i]);
+            if (value == null) continue;
+            if (values == null) values = new String[mdcKeys.length];
+            values[i] = value;
+        }
+        if (values != null) {
+            logEvent.setMdc(mdcKeys, values);
+        }
+    }
+
     /**
      * 设置包名过滤器
      * 
@@ -0,0 +1,83 @@
+package org.htx.vigil.logging.controller;
+
+import org.htx.vigil.logging.dto.LogSearchResult;
+import org.htx.vigil.logging.index.LogEventIndex;
+import org.htx.vigil.logging.index.LogQuery;
+import org.htx.vigil.logging.index.TraceIndex;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 日志检索控制器
+ *
+ * 基于内存中的日志全文索引提供历史日志检索接口，无需在浏览器中逐条翻找；
+ * 并支持按 traceId / requestId 查询同一请求跨线程产生的全部日志。
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+@RestController
+@RequestMapping("/vigil")
+@CrossOrigin
+public class LogSearchController {
+
+    /** 单次检索最多返回的事件数量 */
+    private static final int MAX_LIMIT = 1000;
+
+    /** 日志事件全文索引 */
+    private final LogEventIndex index;
+
+    /** 链路追踪索引 */
+    private final TraceIndex traceIndex;
+
+    /**
+     * 构造函数
+     *
+     * @param index 日志事件全文索引，不能为 null
+     * @param traceIndex 链路追踪索引，不能为 null
+     */
+    public LogSearchController(LogEventIndex index, TraceIndex traceIndex) {
+        this.index = index;
+        this.traceIndex = traceIndex;
+    }
+
+    /**
+     * 检索日志事件
+     *
+     * 查询语法：空格分隔的词之间为 AND 关系，{@code "a b"} 表示短语，{@code abc*} 表示前缀。
+     *
+     * @param q 查询字符串，为空时返回最近的日志
+     * @param level 最低日志级别，如 WARN 表示 WARN 和 ERROR
+     * @param limit 最多返回的事件数量，默认 100，上限 1000
+     * @return ResponseEntity<LogSearchResult> 按时间倒序排列的检索结果
+     */
+    @GetMapping("/logs/search")
+    public ResponseEntity<LogSearchResult> search(@RequestParam(value = "q", required = false) String q,
+                                                  @RequestParam(value = "level", required = false) String level,
+                                                  @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        int bounded = Math.max(1, Math.min(limit, MAX_LIMIT));
+        return ResponseEntity.ok(index.search(LogQuery.parse(q), level, bounded));
+    }
+
+    /**
+     * 按追踪 ID 查询日志事件
+     *
+     * 通过追踪索引直接定位事件，开销与命中数量成正比。
+     * 全文索引关闭或未配置 MDC 键时追踪索引不可用，返回 404。
+     *
+     * @param traceId 追踪 ID，即任一采集的 MDC 键（如 traceId、requestId）的值
+     * @return ResponseEntity<LogSearchResult> 按时间正序排列的日志事件
+     */
+    @GetMapping("/logs/trace/{traceId}")
+    public ResponseEntity<LogSearchResult> trace(@PathVariable("traceId") String traceId) {
+        if (!traceIndex.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(traceIndex.find(traceId));
+    }
+}
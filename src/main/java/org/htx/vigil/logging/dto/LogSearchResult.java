@@ -0,0 +1,63 @@
+package org.htx.vigil.logging.dto;
+
+import java.util.List;
+
+/**
+ * 日志检索结果
+ *
+ * 命中的日志事件按时间倒序排列（最新的在前）。
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+public class LogSearchResult {
+
+    /** 命中的日志事件 */
+    private List<Hit> hits;
+
+    /** 是否因达到返回数量上限而截断 */
+    private boolean truncated;
+
+    /** 当前索引保留的日志事件数量 */
+    private long retained;
+
+    /** 保留范围内因降级采样未写入索引的日志事件数量，不为 0 时检索结果可能不完整 */
+    private long dropped;
+
+    /** 检索耗时（微秒） */
+    private long tookMicros;
+
+    // ================= 单条命中 =================
+    public static class Hit {
+        /** 日志事件序号，全局递增 */
+        private long seq;
+        /** 日志事件 */
+        private UnifiedLogEvent event;
+
+        public Hit() {
+        }
+
+        public Hit(long seq, UnifiedLogEvent event) {
+            this.seq = seq;
+            this.event = event;
+        }
+
+        // getter / setter
+        public long getSeq() { return seq; }
+        public void setSeq(long seq) { this.seq = seq; }
+        public UnifiedLogEvent getEvent() { return event; }
+        public void setEvent(UnifiedLogEvent event) { this.event = event; }
+    }
+
+    // ================= 主类 getter / setter =================
+    public List<Hit> getHits() { return hits; }
+    public void setHits(List<Hit> hits) { this.hits = hits; }
+    public boolean isTruncated() { return truncated; }
+    public void setTruncated(boolean truncated) { this.truncated = truncated; }
+    public long getRetained() { return retained; }
+    public void setRetained(long retained) { this.retained = retained; }
+    public long getDropped() { return dropped; }
+    public void setDropped(long dropped) { this.dropped = dropped; }
+    public long getTookMicros() { return tookMicros; }
+    public void setTookMicros(long tookMicros) { this.tookMicros = tookMicros; }
+}
@@ -4,6 +4,9 @@ import ch.qos.logback.classic.spi.IThrowableProxy;
 import ch.qos.logback.classic.spi.StackTraceElementProxy;
 import org.springframework.util.StringUtils;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * 统一日志事件实体
  * 
@@ -37,6 +40,12 @@ public class UnifiedLogEvent {
     /** 异常堆栈跟踪信息（如果有异常） */
     private String stackTrace;
 
+    /** 采集的 MDC 键，多个事件共享同一数组 */
+    private String[] mdcKeys;
+
+    /** 采集的 MDC 值，与 mdcKeys 一一对应，未设置的键为 null */
+    private String[] mdcValues;
+
     /**
      * 清空对象内容
      * 
@@ -50,6 +59,8 @@ public class UnifiedLogEvent {
         this.threadName = null;
         this.throwableMessage = null;
         this.stackTrace = null;
+        this.mdcKeys = null;
+        this.mdcValues = null;
     }
 
     /**
@@ -84,6 +95,65 @@ public class UnifiedLogEvent {
         }
     }
 
+    /**
+     * 设置采集的 MDC 信息
+     * 
+     * 只保存配置的键对应的值，不复制整个 MDC。
+     * 
+     * @param keys 采集的 MDC 键，多个事件共享同一数组
+     * @param values 与键一一对应的值，未设置的键为 null
+     */
+    public void setMdc(String[] keys, String[] values) {
+        this.mdcKeys = keys;
+        this.mdcValues = values;
+    }
+
+    /**
+     * 是否采集到了 MDC 信息
+     * 
+     * @return 至少有一个配置的 MDC 键有值时返回 true
+     */
+    public boolean hasMdc() {
+        return mdcValues != null;
+    }
+
+    /**
+     * 获取指定 MDC 键的值
+     * 
+     * @param key MDC 键
+     * @return 对应的值，未采集时返回 null
+     */
+    public String mdcValue(String key) {
+        if (mdcValues == null) return null;
+        for (int i = 0; i < mdcKeys.length; i++) {
+            if (mdcKeys[i].equals(key)) return mdcValues[i];
+        }
+        return null;
+    }
+
+    /**
+     * 估算事件占用的内存
+     * 
+     * 按每个字符 2 字节、每个对象约 40 字节头部估算消息、异常信息、堆栈和 MDC 值；
+     * 记录器名称和线程名称通常在多个事件间共享，不计入。
+     * 
+     * @return 估算的字节数
+     */
+    public long estimatedBytes() {
+        long bytes = 64 + sizeOf(message) + sizeOf(throwableMessage) + sizeOf(stackTrace);
+        if (mdcValues != null) {
+            bytes += 16 + 4L * mdcValues.length;
+            for (String value : mdcValues) {
+                bytes += sizeOf(value);
+            }
+        }
+        return bytes;
+    }
+
+    private static long sizeOf(String text) {
+        return text == null ? 0 : 40 + 2L * text.length();
+    }
+
     /**
      * 获取堆栈跟踪信息字符串
      * 
@@ -137,4 +207,14 @@ public class UnifiedLogEvent {
     
     /** 获取异常堆栈跟踪信息 */
     public String getStackTrace() { return stackTrace; }
+
+    /** 获取采集的 MDC 信息，未采集时返回 null */
+    public Map<String, String> getMdc() {
+        if (mdcValues == null) return null;
+        Map<String, String> mdc = new LinkedHashMap<>();
+        for (int i = 0; i < mdcKeys.length; i++) {
+            if (mdcValues[i] != null) mdc.put(mdcKeys[i], mdcValues[i]);
+        }
+        return mdc;
+    }
 }
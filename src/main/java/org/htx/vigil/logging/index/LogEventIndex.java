@@ -0,0 +1,510 @@
+package org.htx.vigil.logging.index;
+
+import org.htx.vigil.autoconfigure.VigilProperties;
+import org.htx.vigil.logging.dto.LogSearchResult;
+import org.htx.vigil.logging.dto.UnifiedLogEvent;
+import org.htx.vigil.overhead.OverheadMeter;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 日志事件全文索引
+ *
+ * 在内存中保留最近的日志事件，并对消息内容、日志记录器名称、线程名称建立倒排索引（词 → 事件序号列表）。
+ * 事件按固定大小分段存放，写满一段后封存并开启新段；事件数量超过 {@code vigil.logs.index.max-events}
+ * 或估算内存超过 {@code vigil.logs.index.max-bytes} 时整段淘汰最旧的数据。
+ * 内存估算包含事件本身（消息、异常堆栈等字符串）、词典中新出现的词以及倒排列表，
+ * 封存后的段额外保留一份有序词表，用于前缀查询时按范围查找而不必遍历整个词典。
+ *
+ * 写入由 Appender 线程完成；已封存的段只读，检索时无需加锁，只有当前写入段需要同步访问。
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+@Component
+public class LogEventIndex {
+
+    /** 空的序号列表 */
+    private static final int[] EMPTY = new int[0];
+
+    /** 日志级别名称，按严重程度从低到高排列 */
+    private static final String[] LEVELS = {"TRACE", "DEBUG", "INFO", "WARN", "ERROR"};
+
+    /** 是否启用索引 */
+    private final boolean enabled;
+
+    /** 每段容纳的事件数量 */
+    private final int segmentSize;
+
+    /** 最多保留的段数量 */
+    private final int maxSegments;
+
+    /** 估算内存上限（字节） */
+    private final long maxBytes;
+
+    /** 单段估算内存上限（字节），超出后提前封存，保证按段淘汰时粒度足够细 */
+    private final long segmentBytes;
+
+    /** 所有段的估算内存之和（字节） */
+    private long retainedBytes;
+
+    /** 所有段的快照，按从旧到新排列，轮转时整体替换 */
+    private volatile Segment[] segments = new Segment[0];
+
+    /** 当前写入段 */
+    private Segment active;
+
+    /** 下一个事件的序号 */
+    private volatile long nextSeq;
+
+    /** 自身开销计量器，用于统计保留范围内因降级采样未写入的事件 */
+    private final OverheadMeter meter;
+
+    /**
+     * 构造函数
+     *
+     * @param properties Vigil 配置属性
+     * @param meter 自身开销计量器
+     */
+    public LogEventIndex(VigilProperties properties, OverheadMeter meter) {
+        VigilProperties.Index config = properties.getLogs().getIndex();
+        this.meter = meter;
+        this.segmentSize = Math.max(64, config.getSegmentSize());
+        this.maxSegments = Math.max(1, (config.getMaxEvents() + segmentSize - 1) / segmentSize);
+        this.maxBytes = Math.max(1L << 20, config.getMaxBytes());
+        this.segmentBytes = Math.max(1L << 18, maxBytes / 8);
+        this.enabled = config.isEnabled() && config.getMaxEvents() > 0;
+    }
+
+    /**
+     * 是否启用索引
+     *
+     * @return 启用时返回 true
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 写入日志事件
+     *
+     * @param event 日志事件，不能为 null
+     * @return 分配给该事件的序号，未启用索引时返回 -1
+     */
+    public synchronized long add(UnifiedLogEvent event) {
+        if (!enabled) return -1;
+        Segment segment = active;
+        if (segment == null || segment.isFull(segmentBytes)) {
+            segment = rotate();
+        }
+        long seq = nextSeq;
+        long bytes;
+        synchronized (segment) {
+            bytes = segment.add(event);
+        }
+        nextSeq = seq + 1;
+        retainedBytes += bytes;
+        // 超出内存上限时淘汰最旧的段，当前写入段不淘汰
+        while (retainedBytes > maxBytes && segments.length > 1) {
+            Segment[] old = segments;
+            retainedBytes -= old[0].bytes;
+            segments = Arrays.copyOfRange(old, 1, old.length);
+        }
+        return seq;
+    }
+
+    /**
+     * 封存当前段并开启新段，超出段数上限时淘汰最旧的段
+     *
+     * @return 新的写入段
+     */
+    private Segment rotate() {
+        if (active != null) {
+            long before = active.bytes;
+            synchronized (active) {
+                active.seal();
+            }
+            retainedBytes += active.bytes - before;
+        }
+        Segment segment = new Segment(nextSeq, meter.getDroppedLogs(), segmentSize);
+        retainedBytes += segment.bytes;
+        Segment[] old = segments;
+        int drop = Math.max(0, old.length + 1 - maxSegments);
+        for (int i = 0; i < drop; i++) {
+            retainedBytes -= old[i].bytes;
+        }
+        Segment[] next = Arrays.copyOfRange(old, drop, old.length + 1);
+        next[next.length - 1] = segment;
+        segments = next;
+        active = segment;
+        return segment;
+    }
+
+    /**
+     * 检索日志事件
+     *
+     * 从最新的段开始向前检索，结果按时间倒序排列。
+     *
+     * @param query 查询条件
+     * @param level 最低日志级别（如 WARN 表示 WARN 和 ERROR），null 或空表示不过滤
+     * @param limit 最多返回的事件数量
+     * @return 检索结果
+     */
+    public LogSearchResult search(LogQuery query, String level, int limit) {
+        long start = System.nanoTime();
+        int minLevel = level == null || level.isEmpty() ? -1 : levelOrdinal(level.toUpperCase());
+        Segment[] snapshot = segments;
+
+        List<LogSearchResult.Hit> hits = new ArrayList<>(Math.min(limit, 256));
+        boolean truncated = false;
+        for (int s = snapshot.length - 1; s >= 0 && !truncated; s--) {
+            Segment segment = snapshot[s];
+            // 段内没有达到最低级别的事件时整段跳过
+            if (minLevel > 0 && (segment.levelMask >>> minLevel) == 0) continue;
+            if (segment.sealed) {
+                truncated = segment.collect(query, minLevel, limit, hits);
+            } else {
+                synchronized (segment) {
+                    truncated = segment.collect(query, minLevel, limit, hits);
+                }
+            }
+        }
+
+        LogSearchResult result = new LogSearchResult();
+        result.setHits(hits);
+        result.setTruncated(truncated);
+        result.setRetained(snapshot.length == 0 ? 0 : nextSeq - snapshot[0].baseSeq);
+        result.setDropped(snapshot.length == 0 ? 0 : meter.getDroppedLogs() - snapshot[0].droppedBase);
+        result.setTookMicros((System.nanoTime() - start) / 1_000);
+        return result;
+    }
+
+    /**
+     * 获取仍保留的最旧事件的序号
+     *
+     * @return 最旧事件的序号，索引为空时返回下一个事件的序号
+     */
+    public long firstSeq() {
+        Segment[] snapshot = segments;
+        return snapshot.length == 0 ? nextSeq : snapshot[0].baseSeq;
+    }
+
+    /**
+     * 按序号获取日志事件
+     *
+     * @param seq 事件序号
+     * @return 日志事件，已被淘汰或不存在时返回 null
+     */
+    public UnifiedLogEvent get(long seq) {
+        Segment[] snapshot = segments;
+        // 按段起始序号二分查找所在段
+        int lo = 0, hi = snapshot.length - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            Segment segment = snapshot[mid];
+            if (seq < segment.baseSeq) {
+                hi = mid - 1;
+            } else if (mid + 1 < snapshot.length && seq >= snapshot[mid + 1].baseSeq) {
+                // 段可能因达到内存上限提前封存，实际范围以下一段的起始序号为界，而不是段容量
+                lo = mid + 1;
+            } else {
+                int doc = (int) (seq - segment.baseSeq);
+                if (segment.sealed) return doc < segment.size ? segment.events[doc] : null;
+                synchronized (segment) {
+                    return doc < segment.size ? segment.events[doc] : null;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获取日志级别的严重程度序号
+     *
+     * @param level 日志级别名称
+     * @return 序号，未知级别按 INFO 处理
+     */
+    static int levelOrdinal(String level) {
+        for (int i = 0; i < LEVELS.length; i++) {
+            if (LEVELS[i].equals(level)) return i;
+        }
+        return 2;
+    }
+
+    // ================= 索引段 =================
+    static final class Segment {
+        /** 段内第一个事件的序号 */
+        final long baseSeq;
+        /** 段开启时计量器中因采样丢弃的事件累计数量 */
+        final long droppedBase;
+        /** 段容量 */
+        final int capacity;
+        /** 段内事件，下标即段内偏移，封存时收紧到实际数量 */
+        UnifiedLogEvent[] events;
+        /** 段内事件的日志级别序号，封存时收紧到实际数量 */
+        byte[] levels;
+        /** 倒排表：词 → 段内偏移列表 */
+        final Map<String, Postings> terms = new HashMap<>();
+        /** 有序词表，封存时生成，用于前缀查询 */
+        String[] sortedTerms;
+        /** 段内出现过的日志级别，按级别序号置位 */
+        int levelMask;
+        /** 已写入的事件数量 */
+        int size;
+        /** 估算内存（字节） */
+        long bytes;
+        /** 是否已封存，封存后只读 */
+        volatile boolean sealed;
+
+        Segment(long baseSeq, long droppedBase, int capacity) {
+            this.baseSeq = baseSeq;
+            this.droppedBase = droppedBase;
+            this.capacity = capacity;
+            this.events = new UnifiedLogEvent[capacity];
+            this.levels = new byte[capacity];
+            // 事件引用数组和级别数组，每个位置约 5 字节
+            this.bytes = 5L * capacity;
+        }
+
+        boolean isFull(long maxBytes) {
+            return size == capacity || bytes >= maxBytes;
+        }
+
+        /**
+         * 写入事件并建立倒排索引
+         *
+         * @return 本次新增的估算内存（字节）
+         */
+        long add(UnifiedLogEvent event) {
+            int doc = size;
+            events[doc] = event;
+            int level = levelOrdinal(event.getLevel());
+            levels[doc] = (byte) level;
+            levelMask |= 1 << level;
+            long added = event.estimatedBytes();
+            added += indexField(event.getMessage(), doc);
+            added += indexField(event.getLoggerName(), doc);
+            added += indexField(event.getThreadName(), doc);
+            size = doc + 1;
+            bytes += added;
+            return added;
+        }
+
+        /**
+         * 对字段分词并写入倒排表
+         *
+         * @return 新增的估算内存（字节）：新词约 100 字节加字符占用，已有词每次约 4 字节
+         */
+        private long indexField(String text, int doc) {
+            if (text == null) return 0;
+            long added = 0;
+            int n = text.length();
+            int start = -1;
+            for (int i = 0; i <= n; i++) {
+                boolean word = i < n && LogQuery.isTokenChar(text.charAt(i));
+                if (word && start < 0) {
+                    start = i;
+                } else if (!word && start >= 0) {
+                    String token = LogQuery.token(text, start, i);
+                    Postings postings = terms.get(token);
+                    if (postings == null) {
+                        postings = new Postings();
+                        terms.put(token, postings);
+                        added += 100 + 2L * token.length();
+                    }
+                    added += postings.add(doc);
+                    start = -1;
+                }
+            }
+            return added;
+        }
+
+        /** 封存：收紧事件数组和所有倒排列表，释放多余容量，并生成有序词表 */
+        void seal() {
+            if (size < capacity) {
+                events = Arrays.copyOf(events, size);
+                levels = Arrays.copyOf(levels, size);
+                bytes -= 5L * (capacity - size);
+            }
+            for (Postings postings : terms.values()) {
+                postings.trim();
+            }
+            String[] sorted = terms.keySet().toArray(new String[0]);
+            Arrays.sort(sorted);
+            sortedTerms = sorted;
+            bytes += 8L * sorted.length;
+            sealed = true;
+        }
+
+        /**
+         * 收集本段命中的事件
+         *
+         * @return 是否已达到数量上限且仍有更多命中
+         */
+        boolean collect(LogQuery query, int minLevel, int limit, List<LogSearchResult.Hit> hits) {
+            int[] docs = match(query, minLevel);
+            int count = docs == null ? size : docs.length;
+            for (int i = count - 1; i >= 0; i--) {
+                int doc = docs == null ? i : docs[i];
+                if (levels[doc] < minLevel || !verifyPhrases(query, events[doc])) continue;
+                if (hits.size() >= limit) return true;
+                hits.add(new LogSearchResult.Hit(baseSeq + doc, events[doc]));
+            }
+            return false;
+        }
+
+        /**
+         * 计算满足全部条件的段内偏移
+         *
+         * @return 升序排列的偏移列表，null 表示无内容条件（全部匹配）
+         */
+        private int[] match(LogQuery query, int minLevel) {
+            if (query.isEmpty()) return null;
+            List<int[]> lists = new ArrayList<>();
+            for (LogQuery.Clause clause : query.clauses()) {
+                String[] tokens = clause.tokens;
+                int last = tokens.length - 1;
+                for (int i = 0; i <= last; i++) {
+                    if (i == last && (clause.type == LogQuery.Type.PREFIX || clause.prefixLast)) {
+                        lists.add(prefix(tokens[i], minLevel));
+                    } else {
+                        Postings postings = terms.get(tokens[i]);
+                        lists.add(postings == null ? EMPTY : postings.toArray());
+                    }
+                }
+            }
+            // 从最短的列表开始求交集
+            lists.sort((a, b) -> Integer.compare(a.length, b.length));
+            int[] result = lists.get(0);
+            for (int i = 1; i < lists.size() && result.length > 0; i++) {
+                result = intersect(result, lists.get(i));
+            }
+            return result;
+        }
+
+        /**
+         * 合并所有以 prefix 开头的词的倒排列表
+         *
+         * 已封存的段在有序词表上二分查找前缀范围；合并时直接跳过低于最低级别的事件，减少后续求交集的数据量。
+         */
+        private int[] prefix(String prefix, int minLevel) {
+            long[] bits = new long[(size + 63) >>> 6];
+            boolean any = false;
+            if (sortedTerms != null) {
+                int from = Arrays.binarySearch(sortedTerms, prefix);
+                if (from < 0) from = -from - 1;
+                for (int t = from; t < sortedTerms.length && sortedTerms[t].startsWith(prefix); t++) {
+                    any |= mark(terms.get(sortedTerms[t]), minLevel, bits);
+                }
+            } else {
+                for (Map.Entry<String, Postings> entry : terms.entrySet()) {
+                    if (entry.getKey().startsWith(prefix)) any |= mark(entry.getValue(), minLevel, bits);
+                }
+            }
+            if (!any) return EMPTY;
+            int count = 0;
+            for (long word : bits) count += Long.bitCount(word);
+            int[] docs = new int[count];
+            int k = 0;
+            for (int w = 0; w < bits.length; w++) {
+                long word = bits[w];
+                while (word != 0) {
+                    docs[k++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                }
+            }
+            return docs;
+        }
+
+        private boolean mark(Postings postings, int minLevel, long[] bits) {
+            boolean any = false;
+            for (int i = 0; i < postings.size; i++) {
+                int doc = postings.docs[i];
+                if (levels[doc] < minLevel) continue;
+                bits[doc >>> 6] |= 1L << doc;
+                any = true;
+            }
+            return any;
+        }
+
+        private static int[] intersect(int[] a, int[] b) {
+            int[] out = new int[Math.min(a.length, b.length)];
+            int i = 0, j = 0, k = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] < b[j]) i++;
+                else if (a[i] > b[j]) j++;
+                else {
+                    out[k++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+            return k == out.length ? out : Arrays.copyOf(out, k);
+        }
+
+        private static boolean verifyPhrases(LogQuery query, UnifiedLogEvent event) {
+            for (LogQuery.Clause clause : query.clauses()) {
+                if (clause.type != LogQuery.Type.PHRASE) continue;
+                if (!containsPhrase(event.getMessage(), clause.phrase, clause.prefixLast)
+                        && !containsPhrase(event.getLoggerName(), clause.phrase, clause.prefixLast)
+                        && !containsPhrase(event.getThreadName(), clause.phrase, clause.prefixLast)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 忽略大小写查找短语，并要求短语两端落在词边界上
+         *
+         * 如 {@code ORD-4242} 不匹配 {@code ORD-424242}；最后一个词按前缀匹配时只检查左边界。
+         */
+        static boolean containsPhrase(String text, String phrase, boolean prefixLast) {
+            if (text == null) return false;
+            int length = phrase.length();
+            boolean checkLeft = LogQuery.isTokenChar(phrase.charAt(0));
+            boolean checkRight = !prefixLast && LogQuery.isTokenChar(phrase.charAt(length - 1));
+            for (int i = 0, last = text.length() - length; i <= last; i++) {
+                if (!text.regionMatches(true, i, phrase, 0, length)) continue;
+                if (checkLeft && i > 0 && LogQuery.isTokenChar(text.charAt(i - 1))) continue;
+                int end = i + length;
+                if (checkRight && end < text.length() && LogQuery.isTokenChar(text.charAt(end))) continue;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    // ================= 倒排列表 =================
+    static final class Postings {
+        /** 升序排列的段内偏移 */
+        int[] docs = new int[4];
+        /** 有效元素数量 */
+        int size;
+
+        /**
+         * @return 新增的估算内存（字节）
+         */
+        int add(int doc) {
+            // 同一事件中重复出现的词只记录一次
+            if (size > 0 && docs[size - 1] == doc) return 0;
+            if (size == docs.length) docs = Arrays.copyOf(docs, size << 1);
+            docs[size++] = doc;
+            return 4;
+        }
+
+        void trim() {
+            if (docs.length != size) docs = Arrays.copyOf(docs, size);
+        }
+
+        /** 容量恰好等于元素数量时直接返回内部数组（调用方只读），否则返回副本 */
+        int[] toArray() {
+            return docs.length == size ? docs : Arrays.copyOf(docs, size);
+        }
+    }
+}
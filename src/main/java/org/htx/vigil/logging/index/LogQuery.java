@@ -0,0 +1,150 @@
+package org.htx.vigil.logging.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 日志检索查询
+ *
+ * 将查询字符串解析为若干个条件，条件之间为 AND 关系，支持三种写法：
+ * - 普通词：{@code timeout}，按词精确匹配
+ * - 前缀：{@code order*}，匹配以该前缀开头的所有词
+ * - 短语：{@code "connection refused"}，所有词都出现且原文连续出现
+ *
+ * 带分隔符的普通词（如 {@code ORD-10086}）按短语处理，带分隔符的前缀（如 {@code ORD-100*}）
+ * 按短语处理且最后一个词按前缀匹配。
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+public final class LogQuery {
+
+    /** 单个词的最大长度，超出部分截断，与索引时保持一致 */
+    static final int MAX_TOKEN_LENGTH = 64;
+
+    /** 条件类型 */
+    enum Type { TERM, PREFIX, PHRASE }
+
+    /** 单个查询条件 */
+    static final class Clause {
+        /** 条件类型 */
+        final Type type;
+        /** 条件拆分出的词（均已转为小写） */
+        final String[] tokens;
+        /** 短语原文（已转为小写），仅 PHRASE 使用 */
+        final String phrase;
+        /** 短语的最后一个词是否按前缀匹配，仅 PHRASE 使用 */
+        final boolean prefixLast;
+
+        Clause(Type type, String[] tokens, String phrase, boolean prefixLast) {
+            this.type = type;
+            this.tokens = tokens;
+            this.phrase = phrase;
+            this.prefixLast = prefixLast;
+        }
+    }
+
+    /** 解析后的条件列表 */
+    private final List<Clause> clauses;
+
+    private LogQuery(List<Clause> clauses) {
+        this.clauses = clauses;
+    }
+
+    /**
+     * 解析查询字符串
+     *
+     * @param query 查询字符串，null 或空白表示不按内容过滤
+     * @return 解析后的查询
+     */
+    public static LogQuery parse(String query) {
+        if (query == null || query.trim().isEmpty()) {
+            return new LogQuery(Collections.emptyList());
+        }
+        List<Clause> clauses = new ArrayList<>();
+        int i = 0;
+        int n = query.length();
+        while (i < n) {
+            char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            if (c == '"') {
+                // 短语：读取到下一个双引号，未闭合则读取到末尾
+                int end = query.indexOf('"', i + 1);
+                if (end < 0) end = n;
+                addPhrase(clauses, query.substring(i + 1, end), false);
+                i = end + 1;
+                continue;
+            }
+            int end = i;
+            while (end < n && !Character.isWhitespace(query.charAt(end))) end++;
+            addWord(clauses, query.substring(i, end));
+            i = end;
+        }
+        return new LogQuery(clauses);
+    }
+
+    private static void addWord(List<Clause> clauses, String word) {
+        boolean prefix = word.endsWith("*");
+        if (prefix) word = word.substring(0, word.length() - 1);
+        List<String> tokens = tokenize(word);
+        if (tokens.isEmpty()) return;
+        if (tokens.size() > 1) {
+            addPhrase(clauses, word, prefix);
+        } else {
+            clauses.add(new Clause(prefix ? Type.PREFIX : Type.TERM, new String[]{tokens.get(0)}, null, false));
+        }
+    }
+
+    private static void addPhrase(List<Clause> clauses, String phrase, boolean prefixLast) {
+        List<String> tokens = tokenize(phrase);
+        if (tokens.isEmpty()) return;
+        if (tokens.size() == 1) {
+            clauses.add(new Clause(prefixLast ? Type.PREFIX : Type.TERM, new String[]{tokens.get(0)}, null, false));
+            return;
+        }
+        clauses.add(new Clause(Type.PHRASE, tokens.toArray(new String[0]),
+                phrase.trim().toLowerCase(Locale.ROOT), prefixLast));
+    }
+
+    /**
+     * 拆分文本为小写词
+     *
+     * 字母、数字和下划线组成词，其他字符均视为分隔符。
+     *
+     * @param text 原始文本
+     * @return 小写词列表
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        int n = text.length();
+        int start = -1;
+        for (int i = 0; i <= n; i++) {
+            boolean word = i < n && isTokenChar(text.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                tokens.add(token(text, start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    static boolean isTokenChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    static String token(String text, int start, int end) {
+        return text.substring(start, Math.min(end, start + MAX_TOKEN_LENGTH)).toLowerCase(Locale.ROOT);
+    }
+
+    /** 是否没有任何内容条件 */
+    public boolean isEmpty() { return clauses.isEmpty(); }
+
+    List<Clause> clauses() { return clauses; }
+}
@@ -0,0 +1,185 @@
+package org.htx.vigil.logging.index;
+
+import org.htx.vigil.autoconfigure.VigilProperties;
+import org.htx.vigil.logging.dto.LogSearchResult;
+import org.htx.vigil.logging.dto.UnifiedLogEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 链路追踪索引
+ *
+ * 以 MDC 中采集的 traceId / requestId 等值为键，记录对应日志事件在 {@link LogEventIndex} 中的序号，
+ * 查询时只需按序号取回事件，开销与命中数量成正比，无需扫描整个日志缓冲区。
+ *
+ * 追踪 ID 数量和单个追踪的事件数量均有上限：超出时分别淘汰最久未活跃的追踪、丢弃该追踪最旧的事件。
+ * 事件本身只保存在全文索引中，因此全文索引关闭时追踪索引也随之关闭，不再采集 MDC。
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+@Component
+public class TraceIndex {
+
+    /** 日志事件全文索引，事件本身保存在这里 */
+    private final LogEventIndex index;
+
+    /** 采集的 MDC 键 */
+    private final String[] mdcKeys;
+
+    /** 单个追踪最多保留的事件数量 */
+    private final int maxEventsPerTrace;
+
+    /** 追踪 ID → 事件序号，按访问顺序排列以便淘汰最久未活跃的追踪 */
+    private final LinkedHashMap<String, Positions> traces;
+
+    /**
+     * 构造函数
+     *
+     * @param index 日志事件全文索引，不能为 null
+     * @param properties Vigil 配置属性
+     */
+    public TraceIndex(LogEventIndex index, VigilProperties properties) {
+        VigilProperties.Trace config = properties.getLogs().getTrace();
+        this.index = index;
+        this.mdcKeys = index.isEnabled() ? config.getMdcKeys().toArray(new String[0]) : new String[0];
+        this.maxEventsPerTrace = Math.max(1, config.getMaxEventsPerTrace());
+        int maxTraces = Math.max(1, config.getMaxTraces());
+        this.traces = new LinkedHashMap<String, Positions>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Positions> eldest) {
+                return size() > maxTraces;
+            }
+        };
+    }
+
+    /**
+     * 是否启用追踪索引
+     *
+     * @return 全文索引已启用且配置了 MDC 键时返回 true
+     */
+    public boolean isEnabled() {
+        return mdcKeys.length > 0;
+    }
+
+    /**
+     * 获取需要从 MDC 中采集的键
+     *
+     * @return 采集的 MDC 键，未启用时为空数组，调用方不得修改
+     */
+    public String[] getMdcKeys() {
+        return mdcKeys;
+    }
+
+    /**
+     * 记录日志事件的追踪信息
+     *
+     * @param seq 事件在全文索引中的序号，小于 0 表示未写入索引
+     * @param event 日志事件
+     */
+    public void add(long seq, UnifiedLogEvent event) {
+        if (seq < 0) return;
+        for (String key : mdcKeys) {
+            String value = event.mdcValue(key);
+            if (value == null) continue;
+            synchronized (this) {
+                Positions positions = traces.get(value);
+                if (positions == null) {
+                    positions = new Positions(Math.min(4, maxEventsPerTrace));
+                    traces.put(value, positions);
+                }
+                positions.add(seq, maxEventsPerTrace);
+            }
+        }
+    }
+
+    /**
+     * 查询追踪 ID 对应的全部日志事件
+     *
+     * 只有事件已随索引段淘汰，或超出单个追踪的事件上限时，结果才会标记为截断。
+     *
+     * @param traceId 追踪 ID（任一采集的 MDC 键的值）
+     * @return 按时间正序排列的检索结果
+     */
+    public LogSearchResult find(String traceId) {
+        long start = System.nanoTime();
+        long[] seqs;
+        boolean truncated;
+        synchronized (this) {
+            Positions positions = traces.get(traceId);
+            seqs = positions == null ? new long[0] : positions.toArray();
+            truncated = positions != null && positions.dropped;
+        }
+
+        // 序号小于最旧保留序号的事件已随索引段淘汰，其余事件都能从索引中取回
+        long first = index.firstSeq();
+        List<LogSearchResult.Hit> hits = new ArrayList<>(seqs.length);
+        for (long seq : seqs) {
+            if (seq < first) {
+                truncated = true;
+                continue;
+            }
+            UnifiedLogEvent event = index.get(seq);
+            if (event != null) {
+                hits.add(new LogSearchResult.Hit(seq, event));
+            } else {
+                truncated = true;
+            }
+        }
+
+        LogSearchResult result = new LogSearchResult();
+        result.setHits(hits);
+        result.setTruncated(truncated);
+        result.setRetained(hits.size());
+        result.setTookMicros((System.nanoTime() - start) / 1_000);
+        return result;
+    }
+
+    // ================= 事件序号环形缓冲 =================
+    static final class Positions {
+        /** 事件序号 */
+        long[] seqs;
+        /** 下一个写入位置 */
+        int head;
+        /** 有效元素数量 */
+        int size;
+        /** 是否因超出上限丢弃过事件 */
+        boolean dropped;
+
+        Positions(int capacity) {
+            this.seqs = new long[capacity];
+        }
+
+        void add(long seq, int max) {
+            // 同一事件的多个 MDC 键取值相同时只记录一次
+            if (size > 0 && seqs[(head - 1 + seqs.length) % seqs.length] == seq) return;
+            if (size == seqs.length && size < max) {
+                long[] grown = new long[Math.min(max, size << 1)];
+                System.arraycopy(toArray(), 0, grown, 0, size);
+                seqs = grown;
+                head = size;
+            }
+            seqs[head] = seq;
+            head = (head + 1) % seqs.length;
+            if (size < seqs.length) {
+                size++;
+            } else {
+                dropped = true;
+            }
+        }
+
+        /** 按写入顺序返回序号 */
+        long[] toArray() {
+            long[] out = new long[size];
+            int first = (head - size + seqs.length) % seqs.length;
+            for (int i = 0; i < size; i++) {
+                out[i] = seqs[(first + i) % seqs.length];
+            }
+            return out;
+        }
+    }
+}
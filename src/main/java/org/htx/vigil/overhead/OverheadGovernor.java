@@ -0,0 +1,125 @@
+package org.htx.vigil.overhead;
+
+import org.htx.vigil.autoconfigure.VigilProperties;
+import org.htx.vigil.autoconfigure.VigilScheduler;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vigil 开销调控器
+ *
+ * 按固定周期计算 Vigil 自身耗时占全部可用 CPU（可用处理器数 × 墙钟时间）的百分比，
+ * 超出预算时逐级降级，低于预算一半时逐级恢复：
+ * <ul>
+ *     <li>等级 1：INFO 及以下日志 1/4 采样，定时采集间隔 ×2，/vigil/metrics 缓存 5 秒</li>
+ *     <li>等级 2：日志 1/16 采样，采集间隔 ×4，指标缓存 10 秒，关闭死锁检测</li>
+ *     <li>等级 3：日志 1/64 采样，采集间隔 ×8，指标缓存 20 秒，关闭死锁检测</li>
+ * </ul>
+ * WARN 及以上级别的日志不受采样影响。
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+@Component
+public class OverheadGovernor {
+
+    /** 支持的最高降级等级 */
+    static final int MAX_LEVEL = 3;
+
+    /** 开销控制配置 */
+    private final VigilProperties.Overhead config;
+
+    /** 开销计量器 */
+    private final OverheadMeter meter;
+
+    /** Vigil 后台调度器 */
+    private final VigilScheduler scheduler;
+
+    /** 可用处理器数量 */
+    private final int processors = Runtime.getRuntime().availableProcessors();
+
+    /** 上一次评估时的墙钟时间（纳秒） */
+    private long lastWallNanos = System.nanoTime();
+
+    /** 上一次评估时 Vigil 的累计耗时（纳秒） */
+    private long lastVigilNanos;
+
+    /** 上一次评估时进程的累计 CPU 时间（纳秒），不支持时为 -1 */
+    private long lastProcessCpuNanos = processCpuNanos();
+
+    /**
+     * 构造函数
+     *
+     * 启用时注册周期评估任务，评估任务不受采集间隔倍数影响。
+     *
+     * @param properties Vigil 配置属性
+     * @param meter 开销计量器
+     * @param scheduler Vigil 后台调度器
+     */
+    public OverheadGovernor(VigilProperties properties, OverheadMeter meter, VigilScheduler scheduler) {
+        this.config = properties.getOverhead();
+        this.meter = meter;
+        this.scheduler = scheduler;
+        meter.updateCpu(config.getCpuBudgetPercent(), 0, -1);
+        if (config.isEnabled() && config.getEvaluationSeconds() > 0) {
+            scheduler.scheduleAtFixedRate(this::evaluate, config.getEvaluationSeconds(), TimeUnit.SECONDS, false);
+        }
+    }
+
+    /**
+     * 评估最近一个周期的开销并调整降级等级
+     */
+    void evaluate() {
+        long wallNanos = System.nanoTime();
+        long vigilNanos = meter.totalNanos();
+        long processCpu = processCpuNanos();
+
+        long wallDelta = wallNanos - lastWallNanos;
+        long vigilDelta = vigilNanos - lastVigilNanos;
+        double cpuPercent = wallDelta <= 0 ? 0 : vigilDelta * 100.0 / ((double) wallDelta * processors);
+        double sharePercent = -1;
+        if (processCpu > lastProcessCpuNanos && lastProcessCpuNanos >= 0) {
+            sharePercent = Math.min(100, vigilDelta * 100.0 / (processCpu - lastProcessCpuNanos));
+        }
+        lastWallNanos = wallNanos;
+        lastVigilNanos = vigilNanos;
+        lastProcessCpuNanos = processCpu;
+        meter.updateCpu(config.getCpuBudgetPercent(), cpuPercent, sharePercent);
+
+        int maxLevel = Math.max(0, Math.min(MAX_LEVEL, config.getMaxLevel()));
+        int level = meter.getLevel();
+        if (cpuPercent > config.getCpuBudgetPercent() && level < maxLevel) {
+            apply(level + 1);
+        } else if (cpuPercent < config.getCpuBudgetPercent() / 2 && level > 0) {
+            apply(level - 1);
+        }
+    }
+
+    /**
+     * 应用指定的降级等级
+     *
+     * @param level 降级等级，0 表示不降级
+     */
+    void apply(int level) {
+        int stretch = 1 << level;
+        meter.apply(level, 1 << (2 * level), stretch,
+                level == 0 ? 0 : TimeUnit.SECONDS.toMillis(5L << (level - 1)), level < 2);
+        scheduler.setStretch(stretch);
+    }
+
+    /**
+     * 读取进程累计 CPU 时间
+     *
+     * @return CPU 时间（纳秒），不支持时返回 -1
+     */
+    private static long processCpuNanos() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) os).getProcessCpuTime();
+        }
+        return -1;
+    }
+}
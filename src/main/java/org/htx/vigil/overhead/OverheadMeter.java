@@ -0,0 +1,253 @@
+package org.htx.vigil.overhead;
+
+import ch.qos.logback.classic.Level;
+import org.htx.vigil.jvm.dto.JvmMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Vigil 自身开销计量器
+ *
+ * 记录 Vigil 在业务线程和后台线程上花费的时间：日志事件处理、JSON 序列化、MXBean 指标收集以及诊断采集。
+ * 通过接口手动触发的诊断（如手动采集类直方图时的 STW 停顿）单独统计，不计入开销预算，
+ * 因为其耗时由操作者主动承担，且主要是等待安全点而不是 Vigil 自身消耗的 CPU。
+ * 同时持有当前的降级设置（日志采样率、指标缓存时间、是否执行死锁检测），供各采集点在热路径上直接读取。
+ * 计数器使用 LongAdder，多线程同时记录时没有竞争。降级设置由 {@link OverheadGovernor} 调整。
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+@Component
+public class OverheadMeter {
+
+    /** 日志事件处理次数 */
+    private final LongAdder appendCount = new LongAdder();
+
+    /** 日志事件处理累计耗时（纳秒），包含序列化 */
+    private final LongAdder appendNanos = new LongAdder();
+
+    /** 因采样被丢弃的日志事件数量 */
+    private final LongAdder droppedLogs = new LongAdder();
+
+    /** JSON 序列化次数 */
+    private final LongAdder serializeCount = new LongAdder();
+
+    /** JSON 序列化累计耗时（纳秒） */
+    private final LongAdder serializeNanos = new LongAdder();
+
+    /** 推送给所有订阅者的累计字节数 */
+    private final LongAdder bytesEmitted = new LongAdder();
+
+    /** 推送的消息累计字节数，每条消息只计一次，即全程在线的单个订阅者收到的字节数 */
+    private final LongAdder bytesPerSubscriber = new LongAdder();
+
+    /** MXBean 指标收集次数 */
+    private final LongAdder collectCount = new LongAdder();
+
+    /** MXBean 指标收集累计耗时（纳秒） */
+    private final LongAdder collectNanos = new LongAdder();
+
+    /** 诊断采集次数 */
+    private final LongAdder diagnosticCount = new LongAdder();
+
+    /** 诊断采集累计耗时（纳秒） */
+    private final LongAdder diagnosticNanos = new LongAdder();
+
+    /** 手动诊断次数 */
+    private final LongAdder manualDiagnosticCount = new LongAdder();
+
+    /** 手动诊断累计耗时（纳秒），不计入开销预算 */
+    private final LongAdder manualDiagnosticNanos = new LongAdder();
+
+    /** 当前订阅者数量的来源，由日志事件发布器注册 */
+    private volatile IntSupplier subscriberCount = () -> 0;
+
+    /** 当前降级等级 */
+    private volatile int level;
+
+    /** 日志采样掩码，随机数与掩码按位与为 0 时保留，0 表示全部保留 */
+    private volatile int logSampleMask;
+
+    /** /vigil/metrics 结果的缓存时间（毫秒） */
+    private volatile long metricsCacheMillis;
+
+    /** 是否执行死锁检测 */
+    private volatile boolean deadlockDetection = true;
+
+    /** 定时采集任务的执行间隔倍数 */
+    private volatile int collectionStretch = 1;
+
+    /** CPU 预算（%） */
+    private volatile double cpuBudgetPercent;
+
+    /** 最近一个评估周期 Vigil 占全部可用 CPU 的百分比 */
+    private volatile double cpuPercent;
+
+    /** 最近一个评估周期 Vigil 占本进程 CPU 时间的百分比 */
+    private volatile double processCpuSharePercent = -1;
+
+    /**
+     * 当前是否在对日志进行降级采样
+     *
+     * @return 采样率大于 1 时返回 true
+     */
+    public boolean isSampling() {
+        return logSampleMask != 0;
+    }
+
+    /**
+     * 判断日志事件是否需要处理
+     *
+     * WARN 及以上级别的日志始终保留，其余级别在降级时按采样率保留：带追踪 ID 的事件按追踪 ID 的哈希决定，
+     * 同一追踪的事件一起保留或丢弃，追踪查询的结果保持完整；没有追踪 ID 的事件随机保留。
+     *
+     * @param level 日志级别
+     * @param traceId 追踪 ID，null 表示没有
+     * @return 需要处理时返回 true
+     */
+    public boolean sample(Level level, String traceId) {
+        int mask = logSampleMask;
+        if (mask == 0 || level.isGreaterOrEqual(Level.WARN)) return true;
+        int hash = traceId == null ? ThreadLocalRandom.current().nextInt() : traceId.hashCode() * 0x9E3779B9;
+        if (((hash >>> 16) & mask) == 0) return true;
+        droppedLogs.increment();
+        return false;
+    }
+
+    /**
+     * 记录一次日志事件处理
+     *
+     * @param nanos 耗时（纳秒）
+     */
+    public void recordAppend(long nanos) {
+        appendCount.increment();
+        appendNanos.add(nanos);
+    }
+
+    /**
+     * 记录一次 JSON 序列化及推送
+     *
+     * @param nanos 序列化耗时（纳秒）
+     * @param length JSON 长度，按字符数近似字节数
+     * @param subscribers 接收该消息的订阅者数量
+     */
+    public void recordSerialize(long nanos, int length, int subscribers) {
+        serializeCount.increment();
+        serializeNanos.add(nanos);
+        bytesEmitted.add((long) length * subscribers);
+        bytesPerSubscriber.add(length);
+    }
+
+    /**
+     * 注册当前订阅者数量的来源，快照时读取，订阅者断开后立即反映
+     *
+     * @param subscriberCount 当前订阅者数量
+     */
+    public void setSubscriberCount(IntSupplier subscriberCount) {
+        this.subscriberCount = subscriberCount;
+    }
+
+    /**
+     * 记录一次 MXBean 指标收集
+     *
+     * @param nanos 耗时（纳秒）
+     */
+    public void recordCollect(long nanos) {
+        collectCount.increment();
+        collectNanos.add(nanos);
+    }
+
+    /**
+     * 记录一次诊断采集（线程转储、类直方图等）
+     *
+     * @param nanos 耗时（纳秒）
+     * @param manual 是否为通过接口手动触发，手动触发的诊断不计入开销预算
+     */
+    public void recordDiagnostic(long nanos, boolean manual) {
+        if (manual) {
+            manualDiagnosticCount.increment();
+            manualDiagnosticNanos.add(nanos);
+        } else {
+            diagnosticCount.increment();
+            diagnosticNanos.add(nanos);
+        }
+    }
+
+    /**
+     * 获取 Vigil 累计花费的时间
+     *
+     * 序列化发生在日志事件处理内部，已计入处理耗时，不再重复累加；手动诊断不计入。
+     *
+     * @return 累计耗时（纳秒）
+     */
+    public long totalNanos() {
+        return appendNanos.sum() + collectNanos.sum() + diagnosticNanos.sum();
+    }
+
+    /**
+     * 应用降级等级
+     *
+     * @param level 降级等级
+     * @param logSampleRate 日志采样率，必须是 2 的幂
+     * @param collectionStretch 定时采集任务的执行间隔倍数
+     * @param metricsCacheMillis 指标缓存时间（毫秒）
+     * @param deadlockDetection 是否执行死锁检测
+     */
+    void apply(int level, int logSampleRate, int collectionStretch, long metricsCacheMillis, boolean deadlockDetection) {
+        this.level = level;
+        this.logSampleMask = logSampleRate - 1;
+        this.collectionStretch = collectionStretch;
+        this.metricsCacheMillis = metricsCacheMillis;
+        this.deadlockDetection = deadlockDetection;
+    }
+
+    /**
+     * 更新最近一个评估周期的 CPU 占用
+     */
+    void updateCpu(double cpuBudgetPercent, double cpuPercent, double processCpuSharePercent) {
+        this.cpuBudgetPercent = cpuBudgetPercent;
+        this.cpuPercent = cpuPercent;
+        this.processCpuSharePercent = processCpuSharePercent;
+    }
+
+    // ================= Getter 方法 =================
+    public int getLevel() { return level; }
+    public long getMetricsCacheMillis() { return metricsCacheMillis; }
+    public boolean isDeadlockDetection() { return deadlockDetection; }
+    public long getDroppedLogs() { return droppedLogs.sum(); }
+
+    /**
+     * 生成开销信息快照
+     *
+     * @return 开销信息
+     */
+    public JvmMetrics.OverheadInfo snapshot() {
+        JvmMetrics.OverheadInfo info = new JvmMetrics.OverheadInfo();
+        info.setLevel(level);
+        info.setCpuBudgetPercent(cpuBudgetPercent);
+        info.setCpuPercent(cpuPercent);
+        info.setProcessCpuSharePercent(processCpuSharePercent);
+        info.setLogSampleRate(logSampleMask + 1);
+        info.setCollectionStretch(collectionStretch);
+        info.setMetricsCacheMillis(metricsCacheMillis);
+        info.setDeadlockDetection(deadlockDetection);
+        info.setAppendCount(appendCount.sum());
+        info.setAppendNanos(appendNanos.sum());
+        info.setDroppedLogs(droppedLogs.sum());
+        info.setSerializeCount(serializeCount.sum());
+        info.setSerializeNanos(serializeNanos.sum());
+        info.setBytesEmitted(bytesEmitted.sum());
+        info.setBytesPerSubscriber(bytesPerSubscriber.sum());
+        info.setSubscribers(subscriberCount.getAsInt());
+        info.setCollectCount(collectCount.sum());
+        info.setCollectNanos(collectNanos.sum());
+        info.setDiagnosticCount(diagnosticCount.sum());
+        info.setDiagnosticNanos(diagnosticNanos.sum());
+        info.setManualDiagnosticCount(manualDiagnosticCount.sum());
+        info.setManualDiagnosticNanos(manualDiagnosticNanos.sum());
+        return info;
+    }
+}
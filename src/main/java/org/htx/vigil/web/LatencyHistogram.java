@@ -0,0 +1,193 @@
+package org.htx.vigil.web;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 滚动窗口延迟直方图
+ *
+ * 以微秒为单位按对数-线性分桶：16 微秒以内每微秒一个桶，之后每个 2 的幂区间再均分为 8 个桶，
+ * 相对误差不超过 12.5%，上限约 19 小时，共 {@value #BUCKETS} 个桶。
+ * 直方图由固定数量的时间窗口槽位组成，按单调时钟轮转，保留的内存有上限；但槽位中的窗口对象不复用，
+ * 每次轮转分配一个新窗口（约 2.2 KB），即每条有请求的路由每个窗口时长产生一次分配，旧窗口交由 GC 回收。
+ * 记录过程无锁：窗口切换时由第一个进入新窗口的线程通过 CAS 换入一个新的窗口对象，旧对象不再修改，
+ * 因此不会出现清空与写入交错导致的计数丢失，合并时也不会读到清空了一半的窗口。
+ * 被换出的窗口已超出统计范围，换出瞬间仍写入旧对象的样本本就不会再被统计。
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+final class LatencyHistogram {
+
+    /** 每个 2 的幂区间的子桶位数 */
+    private static final int SUB_BITS = 3;
+
+    /** 每个 2 的幂区间的子桶数量 */
+    private static final int SUB = 1 << SUB_BITS;
+
+    /** 线性区间上限（微秒） */
+    private static final int LINEAR = SUB << 1;
+
+    /** 可记录的最大值（微秒） */
+    private static final long MAX_VALUE = (1L << 36) - 1;
+
+    /** 桶数量 */
+    static final int BUCKETS = (63 - Long.numberOfLeadingZeros(MAX_VALUE) - SUB_BITS + 2) * SUB;
+
+    /** 时间窗口槽位，按窗口编号取模复用 */
+    private final AtomicReferenceArray<Window> windows;
+
+    /** 单个窗口的时长（纳秒） */
+    private final long windowNanos;
+
+    /** 开始统计的时间（单调时钟纳秒） */
+    private final long originNanos;
+
+    /**
+     * 构造函数
+     *
+     * @param windowCount 窗口数量
+     * @param windowNanos 单个窗口的时长（纳秒）
+     * @param originNanos 开始统计的时间（单调时钟纳秒），用于限制启动初期的统计跨度
+     */
+    LatencyHistogram(int windowCount, long windowNanos, long originNanos) {
+        this.windows = new AtomicReferenceArray<>(windowCount);
+        for (int i = 0; i < windowCount; i++) {
+            windows.set(i, new Window(Long.MIN_VALUE));
+        }
+        this.windowNanos = windowNanos;
+        this.originNanos = originNanos;
+    }
+
+    /**
+     * 记录一次请求
+     *
+     * @param nanos 请求耗时（纳秒）
+     * @param error 是否为错误请求
+     * @param now 当前单调时钟（纳秒）
+     */
+    void record(long nanos, boolean error, long now) {
+        long epoch = Math.floorDiv(now, windowNanos);
+        int slot = (int) Math.floorMod(epoch, (long) windows.length());
+        Window window = windows.get(slot);
+        while (window.epoch < epoch) {
+            Window next = new Window(epoch);
+            if (windows.compareAndSet(slot, window, next)) {
+                window = next;
+            } else {
+                window = windows.get(slot);
+            }
+        }
+
+        long micros = Math.min(MAX_VALUE, Math.max(0, nanos / 1000));
+        window.counts.incrementAndGet(bucket(micros));
+        window.sum.addAndGet(micros);
+        if (error) window.errors.incrementAndGet();
+        long max;
+        while (micros > (max = window.max.get())) {
+            if (window.max.compareAndSet(max, micros)) break;
+        }
+    }
+
+    /**
+     * 合并仍在统计范围内的窗口
+     *
+     * @param now 当前单调时钟（纳秒）
+     * @return 合并结果
+     */
+    Snapshot snapshot(long now) {
+        long epoch = Math.floorDiv(now, windowNanos);
+        int length = windows.length();
+        Snapshot snapshot = new Snapshot();
+        for (int w = 0; w < length; w++) {
+            Window window = windows.get(w);
+            long e = window.epoch;
+            if (e > epoch || e <= epoch - length) continue;
+            for (int i = 0; i < BUCKETS; i++) {
+                long c = window.counts.get(i);
+                if (c == 0) continue;
+                snapshot.counts[i] += c;
+                snapshot.count += c;
+            }
+            snapshot.sum += window.sum.get();
+            snapshot.errors += window.errors.get();
+            snapshot.max = Math.max(snapshot.max, window.max.get());
+        }
+        // 统计跨度：已完整经过的窗口加上当前窗口已过去的部分，不超过开始统计以来的时长
+        long span = (length - 1) * windowNanos + (now - epoch * windowNanos);
+        snapshot.spanNanos = Math.max(1, Math.min(span, now - originNanos));
+        return snapshot;
+    }
+
+    /**
+     * 计算微秒值所在的桶
+     */
+    static int bucket(long micros) {
+        if (micros < LINEAR) return (int) micros;
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        return (exponent - SUB_BITS + 1) * SUB + (int) ((micros >>> (exponent - SUB_BITS)) & (SUB - 1));
+    }
+
+    /**
+     * 计算桶的代表值（桶区间的中点）
+     */
+    static long bucketValue(int bucket) {
+        if (bucket < LINEAR) return bucket;
+        int exponent = bucket / SUB + SUB_BITS - 1;
+        int shift = exponent - SUB_BITS;
+        long lower = (long) (SUB + bucket % SUB) << shift;
+        return lower + ((1L << shift) >> 1);
+    }
+
+    // ================= 时间窗口 =================
+    private static final class Window {
+        /** 窗口编号，即单调时钟除以窗口时长 */
+        final long epoch;
+        /** 各桶计数 */
+        final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        /** 耗时总和（微秒） */
+        final AtomicLong sum = new AtomicLong();
+        /** 最大耗时（微秒） */
+        final AtomicLong max = new AtomicLong();
+        /** 错误请求数 */
+        final AtomicLong errors = new AtomicLong();
+
+        Window(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+
+    // ================= 合并结果 =================
+    static final class Snapshot {
+        /** 各桶计数 */
+        final long[] counts = new long[BUCKETS];
+        /** 请求数 */
+        long count;
+        /** 耗时总和（微秒） */
+        long sum;
+        /** 最大耗时（微秒） */
+        long max;
+        /** 错误请求数 */
+        long errors;
+        /** 统计跨度（纳秒） */
+        long spanNanos;
+
+        /**
+         * 计算分位数
+         *
+         * @param quantile 分位，如 0.99
+         * @return 分位数（微秒），不超过最大值
+         */
+        long percentile(double quantile) {
+            if (count == 0) return 0;
+            long rank = (long) Math.ceil(quantile * count);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank) return Math.min(max, bucketValue(i));
+            }
+            return max;
+        }
+    }
+}
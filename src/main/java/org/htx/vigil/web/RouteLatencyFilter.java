@@ -0,0 +1,125 @@
+package org.htx.vigil.web;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 接口延迟统计过滤器
+ *
+ * 作为 Spring Boot 自动注册的 Servlet 过滤器，记录每个请求从进入过滤器链到响应完成的耗时，
+ * 按 Spring MVC 匹配到的路由模式（如 {@code /orders/{id}}）归类；未匹配到处理器的请求归入 {@value #UNMATCHED}。
+ * 异步请求在异步处理完成时记录。Vigil 自身的接口不参与统计。
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RouteLatencyFilter extends OncePerRequestFilter {
+
+    /** 未匹配到处理器的请求使用的路由名称 */
+    static final String UNMATCHED = "UNMATCHED";
+
+    /** Vigil 自身接口的路径前缀 */
+    private static final String VIGIL_PREFIX = "/vigil";
+
+    /** 接口延迟记录器 */
+    private final RouteLatencyRecorder recorder;
+
+    /**
+     * 构造函数
+     *
+     * @param recorder 接口延迟记录器，不能为 null
+     */
+    public RouteLatencyFilter(RouteLatencyRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !recorder.isEnabled() || isVigilPath(request);
+    }
+
+    /**
+     * 是否为 Vigil 自身的接口，只匹配 /vigil 本身及 /vigil/ 下的路径，/vigilance 等不受影响
+     */
+    private static boolean isVigilPath(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        int start = request.getContextPath().length();
+        if (!uri.startsWith(VIGIL_PREFIX, start)) return false;
+        int end = start + VIGIL_PREFIX.length();
+        return uri.length() == end || uri.charAt(end) == '/';
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new CompletionListener(start));
+            } else {
+                record(request, response, System.nanoTime() - start, failed);
+            }
+        }
+    }
+
+    /**
+     * 记录一次请求
+     *
+     * @param failed 处理过程中是否抛出异常
+     */
+    private void record(HttpServletRequest request, HttpServletResponse response, long nanos, boolean failed) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        recorder.record(request.getMethod(), pattern == null ? UNMATCHED : pattern.toString(), nanos,
+                failed || response.getStatus() >= 500);
+    }
+
+    // ================= 异步请求完成监听器 =================
+    private final class CompletionListener implements AsyncListener {
+        /** 请求开始时间（纳秒） */
+        private final long start;
+        /** 是否超时或出错 */
+        private volatile boolean failed;
+
+        CompletionListener(long start) {
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            record((HttpServletRequest) event.getSuppliedRequest(), (HttpServletResponse) event.getSuppliedResponse(),
+                    System.nanoTime() - start, failed);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
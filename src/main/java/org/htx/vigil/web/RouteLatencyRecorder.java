@@ -0,0 +1,133 @@
+package org.htx.vigil.web;
+
+import org.htx.vigil.autoconfigure.VigilProperties;
+import org.htx.vigil.jvm.dto.JvmMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 接口延迟记录器
+ *
+ * 按 HTTP 方法 + 匹配的路由模式（而不是原始 URI）分别维护一个滚动窗口延迟直方图，
+ * 路由数量有上限，超出后归入 {@value #OTHER}，避免路径参数导致内存无限增长。
+ *
+ * @author Hao Tong Xue
+ * @since 1.2.0
+ */
+@Component
+public class RouteLatencyRecorder {
+
+    /** 超出路由上限后使用的路由名称 */
+    static final String OTHER = "OTHER";
+
+    /** 请求延迟统计配置 */
+    private final VigilProperties.Http config;
+
+    /** 单个窗口的时长（纳秒） */
+    private final long windowNanos;
+
+    /** 开始统计的时间（单调时钟纳秒） */
+    private final long originNanos = System.nanoTime();
+
+    /** HTTP 方法 → 路由模式 → 延迟直方图，两级查找，记录时不需要创建组合键 */
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, LatencyHistogram>> routes =
+            new ConcurrentHashMap<>();
+
+    /** 已统计的路由数量 */
+    private final AtomicInteger routeCount = new AtomicInteger();
+
+    /**
+     * 构造函数
+     *
+     * @param properties Vigil 配置属性
+     */
+    public RouteLatencyRecorder(VigilProperties properties) {
+        this.config = properties.getHttp();
+        this.windowNanos = TimeUnit.SECONDS.toNanos(Math.max(1, config.getWindowSeconds()));
+    }
+
+    /**
+     * 是否启用请求延迟统计
+     *
+     * @return 启用时返回 true
+     */
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * 记录一次请求
+     *
+     * @param method HTTP 方法
+     * @param pattern 匹配的路由模式
+     * @param nanos 请求耗时（纳秒）
+     * @param error 是否为错误请求
+     */
+    public void record(String method, String pattern, long nanos, boolean error) {
+        long now = System.nanoTime();
+        ConcurrentHashMap<String, LatencyHistogram> patterns = routes.get(method);
+        LatencyHistogram histogram = patterns == null ? null : patterns.get(pattern);
+        if (histogram == null) {
+            histogram = histogram(method, pattern);
+        }
+        histogram.record(nanos, error, now);
+    }
+
+    /**
+     * 获取或创建路由的直方图，路由数量达到上限后返回 {@value #OTHER} 的直方图
+     */
+    private LatencyHistogram histogram(String method, String pattern) {
+        if (routeCount.get() >= config.getMaxRoutes()) {
+            method = OTHER;
+            pattern = OTHER;
+        }
+        ConcurrentHashMap<String, LatencyHistogram> patterns = routes.computeIfAbsent(method,
+                m -> new ConcurrentHashMap<>());
+        return patterns.computeIfAbsent(pattern, p -> {
+            routeCount.incrementAndGet();
+            return new LatencyHistogram(Math.max(1, config.getWindows()), windowNanos, originNanos);
+        });
+    }
+
+    /**
+     * 生成各接口的延迟统计
+     *
+     * @return 统计范围内有请求的接口，按请求数降序排列
+     */
+    public List<JvmMetrics.EndpointInfo> snapshot() {
+        long now = System.nanoTime();
+        List<JvmMetrics.EndpointInfo> endpoints = new ArrayList<>(routeCount.get());
+        for (Map.Entry<String, ConcurrentHashMap<String, LatencyHistogram>> method : routes.entrySet()) {
+            for (Map.Entry<String, LatencyHistogram> entry : method.getValue().entrySet()) {
+                LatencyHistogram.Snapshot snapshot = entry.getValue().snapshot(now);
+                if (snapshot.count == 0) continue;
+                endpoints.add(endpoint(method.getKey(), entry.getKey(), snapshot));
+            }
+        }
+        endpoints.sort((a, b) -> Long.compare(b.getCount(), a.getCount()));
+        return endpoints;
+    }
+
+    private static JvmMetrics.EndpointInfo endpoint(String method, String pattern, LatencyHistogram.Snapshot snapshot) {
+        JvmMetrics.EndpointInfo info = new JvmMetrics.EndpointInfo();
+        info.setMethod(method);
+        info.setPattern(pattern);
+        info.setCount(snapshot.count);
+        info.setErrors(snapshot.errors);
+        double spanSeconds = snapshot.spanNanos / 1e9;
+        info.setSpanSeconds(spanSeconds);
+        info.setThroughput(snapshot.count / spanSeconds);
+        info.setMeanMillis(snapshot.sum / 1000.0 / snapshot.count);
+        info.setP50Millis(snapshot.percentile(0.50) / 1000.0);
+        info.setP90Millis(snapshot.percentile(0.90) / 1000.0);
+        info.setP99Millis(snapshot.percentile(0.99) / 1000.0);
+        info.setMaxMillis(snapshot.max / 1000.0);
+        return info;
+    }
+}